@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory H2 database with a table of numbered rows and a SLEEP_MS function for queries with a known duration.
+ */
+final class BenchmarkDatabase {
+
+    private final String url;
+    private final int rows;
+
+    BenchmarkDatabase(final String name, final int rows) {
+        this.url = "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;MODE=MySQL";
+        this.rows = rows;
+    }
+
+    void create() throws SQLException {
+        try (final Connection connection = DriverManager.getConnection(url)) {
+            try (final Statement stmt = connection.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS benchmark_test (id INT PRIMARY KEY, name VARCHAR(255))");
+                stmt.execute("DELETE FROM benchmark_test");
+                stmt
+                        .execute(
+                                "INSERT INTO benchmark_test SELECT X, CONCAT('Name', X) FROM SYSTEM_RANGE(1, " + rows
+                                        + ")"
+                        );
+                stmt
+                        .execute(
+                                "CREATE ALIAS IF NOT EXISTS SLEEP_MS AS "
+                                        + "'int sleep(int ms) throws Exception { Thread.sleep(ms); return ms; }'"
+                        );
+            }
+        }
+    }
+
+    HikariDataSource dataSource(final int poolSize) {
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(poolSize);
+        return new HikariDataSource(hikariConfig);
+    }
+
+    Map<String, String> options(final int poolSize) {
+        final Map<String, String> options = new HashMap<>();
+        options.put("url", url);
+        options.put("poolSize", String.valueOf(poolSize));
+        return options;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.benchmark;
+
+import com.github.macwille.queries.ParallelQueryList;
+import com.github.macwille.queries.QueriesFromStrings;
+import com.github.macwille.queries.QueriesToBatches;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jooq.Configuration;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DefaultConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelQueryListBenchmark {
+
+    @Param({
+            "1", "4", "12"
+    })
+    public int threads;
+
+    @Param({
+            "4", "24"
+    })
+    public int batchSize;
+
+    private HikariDataSource dataSource;
+    private Configuration configuration;
+    private List<String> sqlList;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        final BenchmarkDatabase database = new BenchmarkDatabase("parallel_query_list_benchmark", 24000);
+        database.create();
+        dataSource = database.dataSource(threads);
+        configuration = new DefaultConfiguration().derive(dataSource).derive(SQLDialect.H2);
+        sqlList = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            sqlList
+                    .add(
+                            "SELECT * FROM benchmark_test WHERE id BETWEEN " + (i * 1000 + 1) + " AND " + (i + 1)
+                                    * 1000
+                    );
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Result<Record>> resultList() {
+        final QueriesToBatches batches = new QueriesToBatches(
+                new LinkedList<>(new QueriesFromStrings(configuration, sqlList).queries()),
+                batchSize
+        );
+        return new ParallelQueryList(batches, threads).resultList();
+    }
+}
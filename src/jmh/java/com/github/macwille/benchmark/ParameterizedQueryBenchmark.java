@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.benchmark;
+
+import com.github.macwille.DatasourceConfiguration;
+import com.github.macwille.QueryEngine;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups as concatenated SQL strings against the same lookups as one parameterized statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParameterizedQueryBenchmark {
+
+    private QueryEngine engine;
+    private List<String> sqlList;
+    private List<Object[]> parameters;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        final BenchmarkDatabase database = new BenchmarkDatabase("parameterized_query_benchmark", 10000);
+        database.create();
+        engine = new QueryEngine(new DatasourceConfiguration(database.options(4)), SQLDialect.H2, 4);
+
+        sqlList = new ArrayList<>(1000);
+        parameters = new ArrayList<>(1000);
+        for (int i = 1; i <= 1000; i++) {
+            sqlList.add("SELECT * FROM benchmark_test WHERE id = " + i * 7);
+            parameters.add(new Object[] {
+                    i * 7
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public List<Result<Record>> stringQueries() {
+        return engine.execute(sqlList);
+    }
+
+    @Benchmark
+    public List<Result<Record>> parameterizedQueries() {
+        return engine.executeParameterized("SELECT * FROM benchmark_test WHERE id = ?", parameters);
+    }
+}
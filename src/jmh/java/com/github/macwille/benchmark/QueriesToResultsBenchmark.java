@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.benchmark;
+
+import com.github.macwille.DatasourceConfiguration;
+import com.github.macwille.QueriesToResults;
+import com.github.macwille.QueryEngine;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full runs against in-memory H2, once through {@link QueriesToResults} which builds its pool for every run and once
+ * through a warm {@link QueryEngine}. Skewed runs have two slow queries among many fast ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueriesToResultsBenchmark {
+
+    @Param({
+            "uniform", "skewed"
+    })
+    public String durations;
+
+    private DatasourceConfiguration configuration;
+    private QueryEngine engine;
+    private List<String> sqlList;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        final BenchmarkDatabase database = new BenchmarkDatabase("queries_to_results_benchmark", 1000);
+        database.create();
+        configuration = new DatasourceConfiguration(database.options(4));
+        engine = new QueryEngine(new DatasourceConfiguration(database.options(4)), SQLDialect.H2, 4);
+
+        sqlList = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            final int sleep;
+            if ("skewed".equals(durations)) {
+                sleep = i % 8 == 0 ? 80 : 5;
+            }
+            else {
+                sleep = 14;
+            }
+            sqlList.add("SELECT SLEEP_MS(" + sleep + "), name FROM benchmark_test WHERE id = " + (i + 1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public List<Result<Record>> queriesToResults() {
+        return new QueriesToResults(configuration, sqlList, SQLDialect.H2, 4).results();
+    }
+
+    @Benchmark
+    public List<Result<Record>> warmEngine() {
+        return engine.execute(sqlList);
+    }
+}
@@ -27,11 +27,15 @@ import com.zaxxer.hikari.HikariConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 public final class HikariConfigFromMap {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HikariConfigFromMap.class);
+    private static final String DATASOURCE_PREFIX = "dataSource.";
 
     private final Map<String, String> options;
 
@@ -41,17 +45,83 @@ public final class HikariConfigFromMap {
 
     public HikariConfig config() {
         LOGGER.debug("Incoming options <{}>", options);
-        final String url = options.get("url");
-        final String username = options.get("username");
-        final String password = options.get("password");
-        final String poolSize = options.getOrDefault("poolSize", "4");
+        final Map<String, String> profiled = profiled();
+        final String url = profiled.get("url");
+        final String username = profiled.get("username");
+        final String password = profiled.get("password");
+        final String poolSize = profiled.getOrDefault("poolSize", "4");
 
         final HikariConfig hikariConfig = new HikariConfig();
         hikariConfig.setJdbcUrl(url);
         hikariConfig.setUsername(username);
         hikariConfig.setPassword(password);
-        hikariConfig.setMaximumPoolSize(Integer.parseInt(poolSize));
+        hikariConfig.setMaximumPoolSize(number("poolSize", poolSize));
+        if (profiled.containsKey("minimumIdle")) {
+            hikariConfig.setMinimumIdle(number("minimumIdle", profiled.get("minimumIdle")));
+        }
+        if (profiled.containsKey("connectionTimeout")) {
+            hikariConfig.setConnectionTimeout(number("connectionTimeout", profiled.get("connectionTimeout")));
+        }
+        if (profiled.containsKey("idleTimeout")) {
+            hikariConfig.setIdleTimeout(number("idleTimeout", profiled.get("idleTimeout")));
+        }
+        if (profiled.containsKey("maxLifetime")) {
+            hikariConfig.setMaxLifetime(number("maxLifetime", profiled.get("maxLifetime")));
+        }
+        if (profiled.containsKey("keepaliveTime")) {
+            hikariConfig.setKeepaliveTime(number("keepaliveTime", profiled.get("keepaliveTime")));
+        }
+        if (profiled.containsKey("validationTimeout")) {
+            hikariConfig.setValidationTimeout(number("validationTimeout", profiled.get("validationTimeout")));
+        }
+
+        // driver properties such as dataSource.cachePrepStmts=true are passed on to every connection
+        for (final Map.Entry<String, String> option : profiled.entrySet()) {
+            if (option.getKey().startsWith(DATASOURCE_PREFIX)) {
+                final String property = option.getKey().substring(DATASOURCE_PREFIX.length());
+                hikariConfig.addDataSourceProperty(property, option.getValue());
+            }
+        }
 
         return hikariConfig;
     }
+
+    /**
+     * Options of the selected performance profile with the given options on top, or the given options as is when no
+     * profile is selected.
+     */
+    private Map<String, String> profiled() {
+        final String profile = options.get("profile");
+        if (profile == null) {
+            return options;
+        }
+
+        final PerformanceProfile performanceProfile;
+        try {
+            performanceProfile = PerformanceProfile.valueOf(profile.trim().toUpperCase(Locale.ROOT));
+        }
+        catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Unknown profile <" + profile + ">, expected one of "
+                            + Arrays.toString(PerformanceProfile.values()),
+                    e
+            );
+        }
+        final Map<String, String> profiled = new HashMap<>(
+                performanceProfile
+                        .options(options.get("url"), number("poolSize", options.getOrDefault("poolSize", "4")))
+        );
+        profiled.putAll(options);
+        LOGGER.debug("Options with profile <{}> <{}>", performanceProfile, profiled);
+        return profiled;
+    }
+
+    private int number(final String key, final String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        }
+        catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Option <" + key + "> must be a number, was <" + value + ">", e);
+        }
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pool and driver settings tuned for a workload, selected with the {@code profile} option of
+ * {@link HikariConfigFromMap}. The driver properties depend on the driver named in the JDBC url, drivers without known
+ * tuning only get the pool settings. Every value is given in the same form as the options map, so any option given
+ * explicitly overrides the profile.
+ */
+public enum PerformanceProfile {
+
+    /**
+     * Many short point lookups: a full pool kept warm, fast failing connection timeout, server-side prepared statements
+     * with a large statement cache.
+     */
+    OLTP,
+
+    /**
+     * Few long scans: a small idle pool, patient connection timeout, cursor based fetching with large fetch sizes.
+     */
+    ANALYTICS;
+
+    public Map<String, String> options(final String url, final int poolSize) {
+        final Map<String, String> options = new HashMap<>();
+        final String driver = url == null ? "" : url.toLowerCase(Locale.ROOT);
+        if (this == OLTP) {
+            options.put("minimumIdle", String.valueOf(poolSize));
+            options.put("connectionTimeout", "2000");
+            options.put("idleTimeout", "600000");
+        }
+        else {
+            options.put("minimumIdle", "1");
+            options.put("connectionTimeout", "30000");
+            options.put("idleTimeout", "60000");
+        }
+
+        if (driver.startsWith("jdbc:mysql:")) {
+            options.put("dataSource.cachePrepStmts", "true");
+            options.put("dataSource.prepStmtCacheSize", "250");
+            options.put("dataSource.prepStmtCacheSqlLimit", "2048");
+            options.put("dataSource.rewriteBatchedStatements", "true");
+            options.put("dataSource.cacheResultSetMetadata", "true");
+            options.put("dataSource.cacheServerConfiguration", "true");
+            options.put("dataSource.useLocalSessionState", "true");
+            options.put("dataSource.elideSetAutoCommits", "true");
+            options.put("dataSource.maintainTimeStats", "false");
+            if (this == OLTP) {
+                options.put("dataSource.useServerPrepStmts", "true");
+            }
+            else {
+                options.put("dataSource.useCursorFetch", "true");
+                options.put("dataSource.defaultFetchSize", "5000");
+            }
+        }
+        else if (driver.startsWith("jdbc:mariadb:")) {
+            options.put("dataSource.cachePrepStmts", "true");
+            options.put("dataSource.prepStmtCacheSize", "250");
+            options.put("dataSource.useBulkStmts", "true");
+            options.put("dataSource.useServerPrepStmts", String.valueOf(this == OLTP));
+            if (this == ANALYTICS) {
+                options.put("dataSource.defaultFetchSize", "5000");
+            }
+        }
+        else if (driver.startsWith("jdbc:postgresql:")) {
+            options.put("dataSource.reWriteBatchedInserts", "true");
+            if (this == OLTP) {
+                options.put("dataSource.prepareThreshold", "1");
+                options.put("dataSource.preparedStatementCacheQueries", "512");
+            }
+            else {
+                // only used as a cursor when the statement runs outside auto-commit
+                options.put("dataSource.defaultRowFetchSize", "5000");
+            }
+        }
+        else if (driver.startsWith("jdbc:sqlserver:")) {
+            if (this == OLTP) {
+                options.put("dataSource.disableStatementPooling", "false");
+                options.put("dataSource.statementPoolingCacheSize", "256");
+            }
+            else {
+                options.put("dataSource.responseBuffering", "adaptive");
+            }
+        }
+        else if (driver.startsWith("jdbc:oracle:")) {
+            options.put("dataSource.oracle.jdbc.implicitStatementCacheSize", "256");
+            options.put("dataSource.oracle.jdbc.defaultRowPrefetch", this == OLTP ? "50" : "5000");
+        }
+        return options;
+    }
+}
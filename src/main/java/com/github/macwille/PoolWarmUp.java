@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borrows the pool's minimum idle connections all at once from separate threads and holds them until every one has
+ * been opened and validated, so the pool is filled before the first query instead of one connection at a time.
+ */
+public final class PoolWarmUp {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PoolWarmUp.class);
+
+    private final HikariDataSource dataSource;
+
+    public PoolWarmUp(final HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Returns the number of connections that were opened and valid.
+     */
+    public int connections() {
+        final int count = Math.max(1, Math.min(dataSource.getMinimumIdle(), dataSource.getMaximumPoolSize()));
+        final int validationSeconds = (int) Math
+                .max(1, TimeUnit.MILLISECONDS.toSeconds(dataSource.getValidationTimeout()));
+        final CountDownLatch borrowed = new CountDownLatch(count);
+        final List<Future<Boolean>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        borrowed.countDown();
+                        final boolean valid = connection.isValid(validationSeconds);
+                        borrowed.await(dataSource.getConnectionTimeout(), TimeUnit.MILLISECONDS);
+                        return valid;
+                    }
+                    finally {
+                        borrowed.countDown();
+                    }
+                }));
+            }
+
+            int valid = 0;
+            for (final Future<Boolean> future : futures) {
+                if (future.get()) {
+                    valid++;
+                }
+            }
+            LOGGER.debug("Warmed up <{}> of <{}> connections", valid, count);
+            return valid;
+        }
+        catch (final ExecutionException e) {
+            throw new ThreadRuntimeException("Failed to open a connection warming up the pool", e.getCause());
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ThreadRuntimeException("Interrupted warming up the pool", e);
+        }
+    }
+}
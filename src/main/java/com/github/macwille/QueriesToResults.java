@@ -23,11 +23,7 @@
  */
 package com.github.macwille;
 
-import com.github.macwille.queries.CallableQuery;
-import com.github.macwille.queries.ParallelQueryList;
-import com.github.macwille.queries.QueriesFromStrings;
 import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
 import org.jooq.Record;
 import org.jooq.Result;
 import org.jooq.SQLDialect;
@@ -35,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public final class QueriesToResults {
 
@@ -75,10 +72,18 @@ public final class QueriesToResults {
 
     public List<Result<Record>> results() {
         LOGGER.trace("Executing Queries <{}>", queries);
-        final HikariDataSource hikariDataSource = configuration.dataSource();
-        final QueriesFromStrings queriesFromStrings = new QueriesFromStrings(hikariDataSource, queries, dialect);
-        final List<CallableQuery> queryList = queriesFromStrings.queries();
-        final ParallelQueryList parallelQueryList = new ParallelQueryList(queryList, threads);
-        return parallelQueryList.resultList();
+        try (final QueryEngine engine = new QueryEngine(configuration, dialect, threads)) {
+            return engine.execute(queries);
+        }
+    }
+
+    /**
+     * Runs the queries without blocking the caller, the engine is closed once all queries have completed.
+     */
+    public CompletableFuture<List<Result<Record>>> resultsAsync() {
+        LOGGER.trace("Executing Queries <{}> asynchronously", queries);
+        final QueryEngine engine = new QueryEngine(configuration, dialect, threads);
+        // closed from outside the engine's own workers, closing waits for them to finish
+        return engine.executeAllAsync(queries).whenCompleteAsync((results, error) -> engine.close());
     }
 }
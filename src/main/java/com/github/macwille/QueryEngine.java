@@ -0,0 +1,763 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille;
+
+import com.github.macwille.bulkhead.Bulkhead;
+import com.github.macwille.bulkhead.BulkheadQuery;
+import com.github.macwille.bulkhead.Bulkheads;
+import com.github.macwille.cache.CachedQuery;
+import com.github.macwille.cache.QueryKey;
+import com.github.macwille.cache.ResultCache;
+import com.github.macwille.cache.SharedQuery;
+import com.github.macwille.cache.SingleFlight;
+import com.github.macwille.columnar.ColumnarQuery;
+import com.github.macwille.columnar.ColumnarResult;
+import com.github.macwille.columnar.ParallelColumnarQueryList;
+import com.github.macwille.dag.QueryGraph;
+import com.github.macwille.dag.ScheduledGraph;
+import com.github.macwille.dml.BatchOutcome;
+import com.github.macwille.dml.CallableBatch;
+import com.github.macwille.dml.ParallelBatchList;
+import com.github.macwille.dml.ParameterizedBatches;
+import com.github.macwille.dml.PermittedBatch;
+import com.github.macwille.dml.StatementBatches;
+import com.github.macwille.limit.ConcurrencyLimit;
+import com.github.macwille.limit.LimitedQuery;
+import com.github.macwille.metrics.MeasuredConnectionProvider;
+import com.github.macwille.metrics.MeasuredExecuteListener;
+import com.github.macwille.metrics.MeasuredRun;
+import com.github.macwille.metrics.NoQueryMetrics;
+import com.github.macwille.metrics.QueryMetrics;
+import com.github.macwille.metrics.QuerySamples;
+import com.github.macwille.queries.AdaptiveChunkSize;
+import com.github.macwille.queries.AffinityQueryList;
+import com.github.macwille.queries.AsyncQueryList;
+import com.github.macwille.queries.CallableQuery;
+import com.github.macwille.queries.CompletedQueries;
+import com.github.macwille.queries.IndexedResult;
+import com.github.macwille.queries.ParallelQueryList;
+import com.github.macwille.queries.ParallelStreamingQueryList;
+import com.github.macwille.queries.ParameterizedQueries;
+import com.github.macwille.queries.ParameterizedQuery;
+import com.github.macwille.queries.PartitionedQuery;
+import com.github.macwille.queries.ParallelCalls;
+import com.github.macwille.queries.PermittedCall;
+import com.github.macwille.queries.PermittedQuery;
+import com.github.macwille.queries.PermittedStreamingQuery;
+import com.github.macwille.queries.QueriesFromStrings;
+import com.github.macwille.queries.QueryOutcome;
+import com.github.macwille.queries.RecordPublisher;
+import com.github.macwille.queries.StreamingQueriesFromStrings;
+import com.github.macwille.queries.StreamingQuery;
+import com.github.macwille.scheduling.FairScheduler;
+import com.github.macwille.scheduling.Tenant;
+import com.github.macwille.scheduling.TenantExecutor;
+import com.github.macwille.spill.BufferedResult;
+import com.github.macwille.spill.ResultSpill;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jooq.Configuration;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DataSourceConnectionProvider;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Long-lived query executor, keeps its connection pool, worker threads and jOOQ configuration between executions.
+ * Queries wait for one of the pool's connection permits before asking Hikari for a connection, so an executor with
+ * many threads, for example {@link Executors#newVirtualThreadPerTaskExecutor()}, only queues cheap waiting tasks and
+ * connection timeouts are measured against the database, not against waiting in the executor.
+ */
+public final class QueryEngine implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryEngine.class);
+
+    private final HikariDataSource dataSource;
+    private final Configuration configuration;
+    private final ExecutorService executorService;
+    private final Semaphore connectionPermits;
+    private final Semaphore reservableConnections;
+    private final SingleFlight flights;
+    private final QueryMetrics metrics;
+    private final QuerySamples samples;
+    private final AtomicBoolean ready;
+    private final AdaptiveChunkSize chunkSize;
+
+    public QueryEngine(final DatasourceConfiguration configuration) {
+        this(configuration, SQLDialect.MYSQL, 12);
+    }
+
+    public QueryEngine(final DatasourceConfiguration configuration, final SQLDialect dialect) {
+        this(configuration, dialect, 12);
+    }
+
+    public QueryEngine(final DatasourceConfiguration configuration, final SQLDialect dialect, final int threads) {
+        this(configuration, dialect, Executors.newFixedThreadPool(threads));
+    }
+
+    public QueryEngine(
+            final DatasourceConfiguration configuration,
+            final SQLDialect dialect,
+            final int threads,
+            final QueryMetrics metrics
+    ) {
+        this(configuration.dataSource(), dialect, Executors.newFixedThreadPool(threads), metrics);
+    }
+
+    public QueryEngine(
+            final DatasourceConfiguration configuration,
+            final SQLDialect dialect,
+            final ExecutorService executorService
+    ) {
+        this(configuration.dataSource(), dialect, executorService);
+    }
+
+    public QueryEngine(
+            final HikariDataSource dataSource,
+            final SQLDialect dialect,
+            final ExecutorService executorService
+    ) {
+        this(dataSource, new DefaultConfiguration().derive(dataSource).derive(dialect), executorService);
+    }
+
+    /**
+     * Records queue wait, connection acquisition, execution and fetch time of every query into the metrics.
+     */
+    public QueryEngine(
+            final HikariDataSource dataSource,
+            final SQLDialect dialect,
+            final ExecutorService executorService,
+            final QueryMetrics metrics
+    ) {
+        this(dataSource, dialect, executorService, metrics, new QuerySamples());
+    }
+
+    private QueryEngine(
+            final HikariDataSource dataSource,
+            final SQLDialect dialect,
+            final ExecutorService executorService,
+            final QueryMetrics metrics,
+            final QuerySamples samples
+    ) {
+        this(
+                dataSource,
+                new DefaultConfiguration()
+                        .derive(new MeasuredConnectionProvider(new DataSourceConnectionProvider(dataSource), samples))
+                        .derive(dialect)
+                        .derive(new DefaultExecuteListenerProvider(new MeasuredExecuteListener(samples))),
+                executorService,
+                new Semaphore(dataSource.getMaximumPoolSize(), true),
+                metrics,
+                samples
+        );
+    }
+
+    public QueryEngine(
+            final HikariDataSource dataSource,
+            final Configuration configuration,
+            final ExecutorService executorService
+    ) {
+        this(dataSource, configuration, executorService, new Semaphore(dataSource.getMaximumPoolSize(), true));
+    }
+
+    public QueryEngine(
+            final HikariDataSource dataSource,
+            final Configuration configuration,
+            final ExecutorService executorService,
+            final Semaphore connectionPermits
+    ) {
+        this(dataSource, configuration, executorService, connectionPermits, new NoQueryMetrics(), new QuerySamples());
+    }
+
+    private QueryEngine(
+            final HikariDataSource dataSource,
+            final Configuration configuration,
+            final ExecutorService executorService,
+            final Semaphore connectionPermits,
+            final QueryMetrics metrics,
+            final QuerySamples samples
+    ) {
+        this.dataSource = dataSource;
+        this.configuration = configuration;
+        this.executorService = executorService;
+        this.connectionPermits = connectionPermits;
+        this.reservableConnections = new Semaphore(Math.max(0, dataSource.getMaximumPoolSize() - 1));
+        this.flights = new SingleFlight();
+        this.metrics = metrics;
+        this.samples = samples;
+        this.ready = new AtomicBoolean(false);
+        this.chunkSize = new AdaptiveChunkSize();
+    }
+
+    public Readiness warmUp() {
+        return warmUp(List.of());
+    }
+
+    /**
+     * Opens the pool's minimum idle connections in parallel and then runs the priming queries, for example to fill
+     * database caches, so startup can be gated on the returned readiness instead of the first request paying for it.
+     * Failures are reported in the readiness, not thrown.
+     */
+    public Readiness warmUp(final List<String> primingQueries) {
+        LOGGER.debug("Warming up with <{}> priming queries", primingQueries.size());
+        final long start = System.nanoTime();
+        int connections = 0;
+        try {
+            connections = new PoolWarmUp(dataSource).connections();
+            if (!primingQueries.isEmpty()) {
+                execute(primingQueries);
+            }
+            final Readiness readiness = new Readiness(
+                    connections,
+                    primingQueries.size(),
+                    Duration.ofNanos(System.nanoTime() - start)
+            );
+            ready.set(readiness.ready());
+            return readiness;
+        }
+        catch (final RuntimeException e) {
+            LOGGER.warn("Warm-up failed: {}", e.getMessage());
+            ready.set(false);
+            return new Readiness(connections, primingQueries.size(), Duration.ofNanos(System.nanoTime() - start), e);
+        }
+    }
+
+    /**
+     * True once a warm-up has succeeded and until a later warm-up fails.
+     */
+    public boolean ready() {
+        return ready.get();
+    }
+
+    public List<Result<Record>> execute(final List<String> queries) {
+        LOGGER.trace("Executing Queries <{}>", queries);
+        final MeasuredRun run = run();
+        try {
+            final List<CallableQuery> queryList = admitted(
+                    new QueriesFromStrings(configuration, queries).queries(),
+                    run
+            );
+            return new ParallelQueryList(queryList, executorService).resultList();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    public List<CompletableFuture<Result<Record>>> executeAsync(final List<String> queries) {
+        return executeAsync(queries, executorService);
+    }
+
+    /**
+     * Starts the queries on the executor and returns one future per query without blocking. Cancelling a future
+     * cancels its running statement.
+     */
+    public List<CompletableFuture<Result<Record>>> executeAsync(final List<String> queries, final Executor executor) {
+        LOGGER.trace("Executing Queries <{}> asynchronously", queries);
+        final MeasuredRun run = run();
+        final List<CompletableFuture<Result<Record>>> futures = new AsyncQueryList(
+                admitted(new QueriesFromStrings(configuration, queries).queries(), run),
+                executor
+        ).futures();
+        CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> run.finish());
+        return futures;
+    }
+
+    public CompletableFuture<List<Result<Record>>> executeAllAsync(final List<String> queries) {
+        return executeAllAsync(queries, executorService);
+    }
+
+    /**
+     * Completes with the results of all queries in query order, or exceptionally with the first failure, cancelling
+     * the queries still running.
+     */
+    public CompletableFuture<List<Result<Record>>> executeAllAsync(
+            final List<String> queries,
+            final Executor executor
+    ) {
+        LOGGER.trace("Executing Queries <{}> asynchronously", queries);
+        final MeasuredRun run = run();
+        return new AsyncQueryList(admitted(new QueriesFromStrings(configuration, queries).queries(), run), executor)
+                .all()
+                .whenComplete((results, error) -> run.finish());
+    }
+
+    /**
+     * Runs the query graph, starting each query once its dependencies have finished and binding the values computed
+     * from their results. Returns the result of every node keyed by name.
+     */
+    public Map<String, Result<Record>> executeGraph(final QueryGraph graph) {
+        try {
+            return executeGraphAsync(graph).join();
+        }
+        catch (final CompletionException e) {
+            throw new ThreadRuntimeException("Query graph failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    public CompletableFuture<Map<String, Result<Record>>> executeGraphAsync(final QueryGraph graph) {
+        LOGGER.trace("Executing query graph");
+        final MeasuredRun run = run();
+        return new ScheduledGraph(
+                graph,
+                executorService,
+                (sql, bindings) -> run.measured(
+                        new PermittedQuery(connectionPermits, new ParameterizedQuery(configuration, sql, bindings))
+                )
+        ).results().whenComplete((results, error) -> run.finish());
+    }
+
+    /**
+     * Fair scheduler on the engine's executor with one slot per pooled connection, so a query that gets a slot also
+     * gets a connection and the scheduler alone decides the order.
+     */
+    public FairScheduler scheduler(final List<Tenant> tenants) {
+        return new FairScheduler(executorService, dataSource.getMaximumPoolSize(), tenants);
+    }
+
+    /**
+     * Executes the queries on the given executor instead of the engine's own, for example a {@link FairScheduler}
+     * view that orders the queries of concurrent callers by priority and tenant weight. The capacity of the scheduler
+     * may not exceed the pool size.
+     */
+    public List<Result<Record>> executeOn(final List<String> queries, final ExecutorService executor) {
+        if (executor instanceof TenantExecutor tenantExecutor
+                && tenantExecutor.capacity() > dataSource.getMaximumPoolSize()) {
+            throw new IllegalArgumentException(
+                    "Scheduler capacity <" + tenantExecutor.capacity() + "> exceeds the pool size <"
+                            + dataSource.getMaximumPoolSize() + ">"
+            );
+        }
+        LOGGER.trace("Executing Queries <{}> on executor <{}>", queries, executor);
+        final MeasuredRun run = run();
+        try {
+            final List<CallableQuery> queryList = admitted(
+                    new QueriesFromStrings(configuration, queries).queries(),
+                    run
+            );
+            return new ParallelQueryList(queryList, executor).resultList();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Bulkheads whose connections are reserved out of the engine's connection permits until they are closed, so the
+     * queries run without bulkhead share what is left. All open bulkheads together leave at least one connection of
+     * the pool unreserved. Creating them waits up to the connection timeout until the reserved connections are free.
+     */
+    public Bulkheads bulkheads(final List<Bulkhead> bulkheads) {
+        return new Bulkheads(
+                bulkheads,
+                connectionPermits,
+                reservableConnections,
+                Duration.ofMillis(dataSource.getConnectionTimeout())
+        );
+    }
+
+    /**
+     * Executes the queries on the worker threads and within the reserved connections of the bulkhead, isolating them
+     * from queries of other bulkheads and from queries without bulkhead. The bulkheads must come from
+     * {@link #bulkheads(List)} of this engine.
+     */
+    public List<Result<Record>> executeInBulkhead(
+            final List<String> queries,
+            final Bulkheads bulkheads,
+            final String bulkhead
+    ) {
+        if (!bulkheads.reserves(connectionPermits)) {
+            throw new IllegalArgumentException("Bulkheads were not reserved from this engine's connections");
+        }
+        final Bulkhead target = bulkheads.bulkhead(bulkhead);
+        LOGGER.trace("Executing Queries <{}> in bulkhead <{}>", queries, target.name());
+        final MeasuredRun run = run();
+        try {
+            final List<CallableQuery> queryList = new ArrayList<>(queries.size());
+            for (final CallableQuery query : new QueriesFromStrings(configuration, queries).queries()) {
+                queryList.add(run.measured(new BulkheadQuery(target, query)));
+            }
+            return new ParallelQueryList(queryList, target.executorService()).resultList();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Executes the queries within an adaptive concurrency limit instead of running as many as the pool allows. The
+     * limit is owned by the caller and keeps what it has learned between executions, its maximum may not exceed the
+     * pool size.
+     */
+    public List<Result<Record>> executeLimited(final List<String> queries, final ConcurrencyLimit limit) {
+        if (limit.maximum() > dataSource.getMaximumPoolSize()) {
+            throw new IllegalArgumentException(
+                    "Concurrency limit maximum <" + limit.maximum() + "> exceeds the pool size <"
+                            + dataSource.getMaximumPoolSize() + ">"
+            );
+        }
+        LOGGER.trace("Executing Queries <{}> within limit <{}>", queries, limit.limit());
+        final MeasuredRun run = run();
+        try {
+            final List<CallableQuery> limitedQueries = new ArrayList<>(queries.size());
+            for (final CallableQuery query : new QueriesFromStrings(configuration, queries).queries()) {
+                limitedQueries.add(run.measured(new LimitedQuery(limit, connectionPermits, query)));
+            }
+            return new ParallelQueryList(limitedQueries, executorService).resultList();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Executes the queries in chunks that run back to back on one borrowed connection, with one worker per connection
+     * permit. The chunk size adapts to the observed query duration across calls. Meant for many short lookups, where a
+     * connection checkout per query costs more than the query.
+     */
+    public List<Result<Record>> executeChunked(final List<String> queries) {
+        LOGGER.trace("Executing Queries <{}> chunked", queries);
+        final MeasuredRun run = run();
+        try {
+            return new AffinityQueryList(
+                    configuration,
+                    queries,
+                    executorService,
+                    connectionPermits,
+                    dataSource.getMaximumPoolSize(),
+                    chunkSize,
+                    run::measured
+            ).resultList();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Executes the queries with the query timeout set as the JDBC query timeout of every statement, rounded up to
+     * whole seconds. When the deadline passes, the statements still running are cancelled and their connections
+     * returned to the pool. Returns the status of every query together with the results that did finish.
+     */
+    public List<QueryOutcome> outcomes(
+            final List<String> queries,
+            final Duration queryTimeout,
+            final Duration deadline
+    ) {
+        LOGGER.trace("Executing Queries <{}> with deadline <{}>", queries, deadline);
+        final int timeoutSeconds = (int) Math.max(1, (queryTimeout.toMillis() + 999) / 1000);
+        final Settings settings = ((Settings) configuration.settings().clone()).withQueryTimeout(timeoutSeconds);
+        final MeasuredRun run = run();
+        try {
+            final List<CallableQuery> queryList = admitted(
+                    new QueriesFromStrings(configuration.derive(settings), queries).queries(),
+                    run
+            );
+            return new ParallelQueryList(queryList, executorService, deadline).outcomes();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Executes the same parameterized SQL once for every row of bind values, the statement text is shared so the
+     * driver's prepared statement cache is reused across executions.
+     */
+    public List<Result<Record>> executeParameterized(final String sql, final List<Object[]> parameters) {
+        LOGGER.trace("Executing Query <{}> with <{}> parameter rows", sql, parameters.size());
+        final MeasuredRun run = run();
+        try {
+            final List<CallableQuery> queryList = admitted(
+                    new ParameterizedQueries(configuration, sql, parameters).queries(),
+                    run
+            );
+            return new ParallelQueryList(queryList, executorService).resultList();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Executes the queries through the cache, only the queries without a live cached result go to the database and
+     * identical misses in flight at the same time are executed once.
+     */
+    public List<Result<Record>> executeCached(final List<String> queries, final ResultCache cache) {
+        LOGGER.trace("Executing Queries <{}> through cache", queries);
+        final MeasuredRun run = run();
+        try {
+            final List<CallableQuery> admittedQueries = admitted(
+                    new QueriesFromStrings(configuration, queries).queries(),
+                    run
+            );
+            final List<CallableQuery> cachedQueries = new ArrayList<>(queries.size());
+            for (int i = 0; i < queries.size(); i++) {
+                final QueryKey key = key(queries.get(i));
+                cachedQueries.add(new CachedQuery(cache, key, new SharedQuery(flights, key, admittedQueries.get(i))));
+            }
+            return new ParallelQueryList(cachedQueries, executorService).resultList();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Executes identical queries that are in flight at the same time, from this or any concurrent call, only once.
+     * Only meant for read queries.
+     */
+    public List<Result<Record>> executeCoalesced(final List<String> queries) {
+        LOGGER.trace("Executing Queries <{}> coalesced", queries);
+        final MeasuredRun run = run();
+        try {
+            final List<CallableQuery> admittedQueries = admitted(
+                    new QueriesFromStrings(configuration, queries).queries(),
+                    run
+            );
+            final List<CallableQuery> sharedQueries = new ArrayList<>(queries.size());
+            for (int i = 0; i < queries.size(); i++) {
+                sharedQueries.add(new SharedQuery(flights, key(queries.get(i)), admittedQueries.get(i)));
+            }
+            return new ParallelQueryList(sharedQueries, executorService).resultList();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Returns the results in the order the queries finish, each tagged with the index of its query.
+     */
+    public Iterator<IndexedResult> completions(final List<String> queries) {
+        LOGGER.trace("Executing Queries <{}> in completion order", queries);
+        final MeasuredRun run = run();
+        return new CompletedQueries(
+                admitted(new QueriesFromStrings(configuration, queries).queries(), run),
+                executorService,
+                run::finish
+        );
+    }
+
+    /**
+     * Executes the queries and streams the rows of every result into the spill, rows over the heap budget of the spill
+     * are written to disk as they arrive instead of accumulating on the heap. The spill owns the files and deletes them
+     * when closed.
+     */
+    public List<BufferedResult> executeSpilled(final List<String> queries, final ResultSpill spill) {
+        LOGGER.trace("Executing Queries <{}> with spill", queries);
+        final List<StreamingQuery> queryList = new StreamingQueriesFromStrings(configuration, queries).queries();
+        final MeasuredRun run = run();
+        try {
+            final List<Callable<BufferedResult>> calls = new ArrayList<>(queryList.size());
+            for (final StreamingQuery query : queryList) {
+                final StreamingQuery permitted = new PermittedStreamingQuery(connectionPermits, query);
+                calls.add(run.measured(() -> spill.buffered(permitted), BufferedResult::size, result -> 0L));
+            }
+            return new ParallelCalls<>(calls, index -> queryList.get(index).cancel(), executorService).values();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    /**
+     * Runs the partitions of the query in parallel and concatenates their results in partition order. To consume the
+     * rows without materializing them, stream the {@link PartitionedQuery#sqlList(SQLDialect)} instead.
+     */
+    public Result<Record> executePartitioned(final PartitionedQuery query) {
+        final List<Result<Record>> results = execute(query.sqlList(configuration.dialect()));
+        final Result<Record> result = DSL.using(configuration).newResult(results.get(0).fields());
+        for (final Result<Record> partition : results) {
+            result.addAll(partition);
+        }
+        return result;
+    }
+
+    /**
+     * Executes the DML statements as JDBC batches of the batch size, spread over the pool's connections. With
+     * transactional batches every batch commits or rolls back as a whole. Returns the update count of every statement
+     * in input order.
+     */
+    public int[] update(final List<String> statements, final int batchSize, final boolean transactional) {
+        LOGGER.trace("Executing <{}> statements in batches of <{}>", statements.size(), batchSize);
+        return permitted(new StatementBatches(configuration, statements, batchSize, transactional).batches())
+                .updateCounts();
+    }
+
+    /**
+     * Executes the prepared DML statement once for every row of bind values, as JDBC batches of the batch size spread
+     * over the pool's connections. Returns the update count of every row in input order.
+     */
+    public int[] update(final String sql, final List<Object[]> rows, final int batchSize, final boolean transactional) {
+        LOGGER.trace("Executing <{}> with <{}> rows in batches of <{}>", sql, rows.size(), batchSize);
+        return permitted(new ParameterizedBatches(configuration, sql, rows, batchSize, transactional).batches())
+                .updateCounts();
+    }
+
+    /**
+     * Executes the DML statements as JDBC batches without transactions and runs every batch even when others fail.
+     * Returns the outcome of every batch in input order, so a partial failure tells exactly which batches were applied.
+     */
+    public List<BatchOutcome> updateOutcomes(final List<String> statements, final int batchSize) {
+        LOGGER.trace("Executing <{}> statements in batches of <{}> to outcomes", statements.size(), batchSize);
+        return permitted(new StatementBatches(configuration, statements, batchSize, false).batches()).outcomes();
+    }
+
+    public List<ColumnarResult> executeColumnar(final List<String> queries) {
+        return executeColumnar(queries, 1000);
+    }
+
+    /**
+     * Executes the queries and reads every result set straight into a compact {@link ColumnarResult}, meant for large
+     * results that would not fit comfortably as jOOQ records.
+     */
+    public List<ColumnarResult> executeColumnar(final List<String> queries, final int fetchSize) {
+        return executeColumnar(queries, fetchSize, Duration.ofNanos(Long.MAX_VALUE));
+    }
+
+    /**
+     * When the deadline passes, or a query fails, the statements still running are cancelled.
+     */
+    public List<ColumnarResult> executeColumnar(
+            final List<String> queries,
+            final int fetchSize,
+            final Duration deadline
+    ) {
+        LOGGER.trace("Executing Queries <{}> columnar", queries);
+        final MeasuredRun run = run();
+        try {
+            final List<ColumnarQuery> queryList = new ArrayList<>(queries.size());
+            for (final String query : queries) {
+                queryList.add(new ColumnarQuery(configuration, query, fetchSize));
+            }
+            return new ParallelColumnarQueryList(
+                    queryList,
+                    query -> run
+                            .measured(
+                                    new PermittedCall<>(connectionPermits, query),
+                                    ColumnarResult::rows,
+                                    ColumnarResult::bytes
+                            ),
+                    executorService,
+                    deadline
+            ).resultList();
+        }
+        finally {
+            run.finish();
+        }
+    }
+
+    public void stream(final List<String> queries, final ObjIntConsumer<Record> consumer) {
+        stream(queries, 1000, consumer);
+    }
+
+    /**
+     * Streams the rows of every query to the consumer without materializing the results, the consumer receives each
+     * row with the index of its query and is called concurrently from the worker threads.
+     */
+    public void stream(final List<String> queries, final int fetchSize, final ObjIntConsumer<Record> consumer) {
+        LOGGER.trace("Streaming Queries <{}>", queries);
+        final List<StreamingQuery> queryList = new ArrayList<>(queries.size());
+        final List<StreamingQuery> streamingQueries = new StreamingQueriesFromStrings(configuration, queries, fetchSize)
+                .queries();
+        for (final StreamingQuery query : streamingQueries) {
+            queryList.add(new PermittedStreamingQuery(connectionPermits, query));
+        }
+        new ParallelStreamingQueryList(queryList, executorService).forEach(consumer);
+    }
+
+    public Flow.Publisher<Record> publisher(final List<String> queries) {
+        return publisher(queries, 1000);
+    }
+
+    /**
+     * Publishes the rows of the queries in query order, fetching rows only as fast as the subscriber requests them. The
+     * query after the current one is executed ahead so its rows are ready when the current one ends.
+     */
+    public Flow.Publisher<Record> publisher(final List<String> queries, final int fetchSize) {
+        LOGGER.trace("Publishing Queries <{}>", queries);
+        final List<StreamingQuery> queryList = new ArrayList<>(queries.size());
+        final List<StreamingQuery> streamingQueries = new StreamingQueriesFromStrings(configuration, queries, fetchSize)
+                .queries();
+        for (final StreamingQuery query : streamingQueries) {
+            queryList.add(new PermittedStreamingQuery(connectionPermits, query));
+        }
+        return new RecordPublisher(queryList, executorService);
+    }
+
+    private ParallelBatchList permitted(final List<CallableBatch> batches) {
+        final List<CallableBatch> permittedBatches = new ArrayList<>(batches.size());
+        for (final CallableBatch batch : batches) {
+            permittedBatches.add(new PermittedBatch(connectionPermits, batch));
+        }
+        return new ParallelBatchList(permittedBatches, executorService);
+    }
+
+    private MeasuredRun run() {
+        return new MeasuredRun(metrics, samples, dataSource.getMaximumPoolSize());
+    }
+
+    private List<CallableQuery> admitted(final List<CallableQuery> queryList, final MeasuredRun run) {
+        final List<CallableQuery> admittedQueries = new ArrayList<>(queryList.size());
+        for (final CallableQuery query : queryList) {
+            admittedQueries.add(run.measured(new PermittedQuery(connectionPermits, query)));
+        }
+        return admittedQueries;
+    }
+
+    private QueryKey key(final String sql) {
+        return new QueryKey(dataSource.getUsername() + "@" + dataSource.getJdbcUrl(), configuration.dialect(), sql);
+    }
+
+    @Override
+    public void close() {
+        LOGGER.debug("Closing query engine");
+        executorService.close();
+        dataSource.close();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Outcome of warming up a {@link QueryEngine}: how many connections were opened, how many priming queries ran and
+ * how long it took.
+ */
+public final class Readiness {
+
+    private final int connections;
+    private final int primingQueries;
+    private final Duration elapsed;
+    private final Throwable error;
+
+    public Readiness(final int connections, final int primingQueries, final Duration elapsed) {
+        this(connections, primingQueries, elapsed, null);
+    }
+
+    public Readiness(final int connections, final int primingQueries, final Duration elapsed, final Throwable error) {
+        this.connections = connections;
+        this.primingQueries = primingQueries;
+        this.elapsed = elapsed;
+        this.error = error;
+    }
+
+    public boolean ready() {
+        return error == null && connections > 0;
+    }
+
+    public int connections() {
+        return connections;
+    }
+
+    public int primingQueries() {
+        return primingQueries;
+    }
+
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    public Optional<Throwable> error() {
+        return Optional.ofNullable(error);
+    }
+
+    @Override
+    public String toString() {
+        return "Readiness{ready=" + ready() + ", connections=" + connections + ", primingQueries=" + primingQueries
+                + ", elapsed=" + elapsed + "}";
+    }
+}
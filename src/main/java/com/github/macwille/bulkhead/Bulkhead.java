@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.bulkhead;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named share of the connection pool with its own connection limit and worker threads, so a burst of one class of
+ * queries cannot take the connections or threads of another. Tracks how saturated it is, to help sizing it.
+ */
+public final class Bulkhead implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Bulkhead.class);
+
+    private final String name;
+    private final int connections;
+    private final Semaphore permits;
+    private final ExecutorService executorService;
+    private final boolean ownsExecutor;
+    private final AtomicInteger inUse;
+    private final AtomicInteger waiting;
+    private final AtomicInteger peakInUse;
+    private final LongAdder acquisitions;
+    private final LongAdder saturatedAcquisitions;
+    private final LongAdder waitNanos;
+
+    /**
+     * The worker threads are created for the bulkhead and closed with it.
+     */
+    public Bulkhead(final String name, final int connections, final int threads) {
+        this(name, connections, Executors.newFixedThreadPool(threads), true);
+    }
+
+    /**
+     * The executor stays the caller's, closing the bulkhead leaves it running.
+     */
+    public Bulkhead(final String name, final int connections, final ExecutorService executorService) {
+        this(name, connections, executorService, false);
+    }
+
+    private Bulkhead(
+            final String name,
+            final int connections,
+            final ExecutorService executorService,
+            final boolean ownsExecutor
+    ) {
+        if (connections < 1) {
+            throw new IllegalArgumentException(
+                    "Bulkhead <" + name + "> needs at least one connection, was <" + connections + ">"
+            );
+        }
+        this.name = name;
+        this.connections = connections;
+        this.permits = new Semaphore(connections, true);
+        this.executorService = executorService;
+        this.ownsExecutor = ownsExecutor;
+        this.inUse = new AtomicInteger();
+        this.waiting = new AtomicInteger();
+        this.peakInUse = new AtomicInteger();
+        this.acquisitions = new LongAdder();
+        this.saturatedAcquisitions = new LongAdder();
+        this.waitNanos = new LongAdder();
+    }
+
+    void acquire() throws InterruptedException {
+        final long start = System.nanoTime();
+        if (!permits.tryAcquire()) {
+            saturatedAcquisitions.increment();
+            waiting.incrementAndGet();
+            try {
+                permits.acquire();
+            }
+            finally {
+                waiting.decrementAndGet();
+            }
+        }
+        waitNanos.add(System.nanoTime() - start);
+        acquisitions.increment();
+        peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+    }
+
+    void release() {
+        inUse.decrementAndGet();
+        permits.release();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int connections() {
+        return connections;
+    }
+
+    public ExecutorService executorService() {
+        return executorService;
+    }
+
+    public int inUse() {
+        return inUse.get();
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+
+    public int peakInUse() {
+        return peakInUse.get();
+    }
+
+    /**
+     * Share of the connection limit in use right now.
+     */
+    public double saturation() {
+        return (double) inUse.get() / connections;
+    }
+
+    public long acquisitions() {
+        return acquisitions.sum();
+    }
+
+    /**
+     * Share of acquisitions that found every connection of the bulkhead in use and had to wait.
+     */
+    public double saturatedShare() {
+        final long total = acquisitions.sum();
+        return total == 0 ? 0 : (double) saturatedAcquisitions.sum() / total;
+    }
+
+    public long averageWaitNanos() {
+        final long total = acquisitions.sum();
+        return total == 0 ? 0 : waitNanos.sum() / total;
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead{name=" + name + ", connections=" + connections + ", inUse=" + inUse() + ", waiting="
+                + waiting() + ", peakInUse=" + peakInUse() + ", saturatedShare=" + saturatedShare() + "}";
+    }
+
+    @Override
+    public void close() {
+        LOGGER.debug("Closing bulkhead <{}>", name);
+        if (ownsExecutor) {
+            executorService.close();
+        }
+    }
+}
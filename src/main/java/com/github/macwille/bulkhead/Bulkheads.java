@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.bulkhead;
+
+import com.github.macwille.ThreadRuntimeException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkheads by name. The connections of all bulkheads are reserved out of the given connection permits for as long as
+ * the bulkheads are open, so traffic outside the bulkheads shares only what is left and cannot take their
+ * connections. Closing releases the reservation and closes the bulkheads.
+ */
+public final class Bulkheads implements AutoCloseable {
+
+    private final Map<String, Bulkhead> bulkheads;
+    private final Semaphore permits;
+    private final Semaphore reservable;
+    private final int connections;
+
+    /**
+     * Bulkheads that only limit each other, without a shared pool to reserve from.
+     */
+    public Bulkheads(final List<Bulkhead> bulkheads) {
+        this(bulkheads, new Semaphore(Integer.MAX_VALUE), new Semaphore(Integer.MAX_VALUE), Duration.ZERO);
+    }
+
+    /**
+     * Reserves the connections of all bulkheads out of the permits. The reservable permits bound what all open
+     * bulkheads may reserve together and must cover the connections right away, the connection permits are waited for
+     * up to the timeout while queries give them back.
+     */
+    public Bulkheads(
+            final List<Bulkhead> bulkheads,
+            final Semaphore permits,
+            final Semaphore reservable,
+            final Duration timeout
+    ) {
+        this.bulkheads = new LinkedHashMap<>();
+        int reserved = 0;
+        for (final Bulkhead bulkhead : bulkheads) {
+            if (this.bulkheads.put(bulkhead.name(), bulkhead) != null) {
+                throw new IllegalArgumentException("Duplicate bulkhead <" + bulkhead.name() + ">");
+            }
+            reserved += bulkhead.connections();
+        }
+        this.permits = permits;
+        this.reservable = reservable;
+        this.connections = reserved;
+        if (!reservable.tryAcquire(reserved)) {
+            throw new IllegalArgumentException(
+                    "Bulkheads need <" + reserved + "> connections, only <" + reservable.availablePermits()
+                            + "> are left to reserve"
+            );
+        }
+        reserve(timeout);
+    }
+
+    private void reserve(final Duration timeout) {
+        final boolean acquired;
+        try {
+            acquired = permits.tryAcquire(connections, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        catch (final InterruptedException e) {
+            reservable.release(connections);
+            Thread.currentThread().interrupt();
+            throw new ThreadRuntimeException("Interrupted reserving connections for bulkheads", e);
+        }
+        if (!acquired) {
+            reservable.release(connections);
+            throw new IllegalStateException(
+                    "Timed out after <" + timeout + "> reserving <" + connections + "> connections for bulkheads"
+            );
+        }
+    }
+
+    public Bulkhead bulkhead(final String name) {
+        final Bulkhead bulkhead = bulkheads.get(name);
+        if (bulkhead == null) {
+            throw new IllegalArgumentException("No bulkhead named <" + name + ">, known are " + bulkheads.keySet());
+        }
+        return bulkhead;
+    }
+
+    public List<Bulkhead> all() {
+        return List.copyOf(bulkheads.values());
+    }
+
+    /**
+     * Sum of the connection limits, reserved out of the permits.
+     */
+    public int connections() {
+        return connections;
+    }
+
+    /**
+     * Whether the connections of the bulkheads are reserved out of these permits.
+     */
+    public boolean reserves(final Semaphore permits) {
+        return this.permits == permits;
+    }
+
+    @Override
+    public void close() {
+        for (final Bulkhead bulkhead : bulkheads.values()) {
+            bulkhead.close();
+        }
+        permits.release(connections);
+        reservable.release(connections);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.cache;
+
+/**
+ * Collapses whitespace outside of quoted literals and identifiers and drops a trailing semicolon, so that formatting
+ * differences do not produce different cache keys.
+ */
+public final class NormalizedSql {
+
+    private final String sql;
+
+    public NormalizedSql(final String sql) {
+        this.sql = sql;
+    }
+
+    public String value() {
+        final StringBuilder normalized = new StringBuilder(sql.length());
+        char quote = 0;
+        boolean whitespace = false;
+        for (int i = 0; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+            if (quote != 0) {
+                normalized.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+            }
+            else if (Character.isWhitespace(c)) {
+                whitespace = true;
+            }
+            else {
+                if (whitespace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                whitespace = false;
+                if (c == '\'' || c == '"' || c == '`') {
+                    quote = c;
+                }
+                normalized.append(c);
+            }
+        }
+
+        int end = normalized.length();
+        while (end > 0 && normalized.charAt(end - 1) == ';') {
+            end--;
+        }
+        normalized.setLength(end);
+        return normalized.toString().stripTrailing();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.cache;
+
+import org.jooq.SQLDialect;
+
+import java.util.Objects;
+
+public final class QueryKey {
+
+    private final String datasource;
+    private final SQLDialect dialect;
+    private final String sql;
+
+    public QueryKey(final String datasource, final SQLDialect dialect, final String sql) {
+        this.datasource = datasource;
+        this.dialect = dialect;
+        this.sql = new NormalizedSql(sql).value();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof QueryKey)) {
+            return false;
+        }
+        final QueryKey key = (QueryKey) other;
+        return datasource.equals(key.datasource) && dialect == key.dialect && sql.equals(key.sql);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(datasource, dialect, sql);
+    }
+
+    @Override
+    public String toString() {
+        return dialect + " " + datasource + " <" + sql + ">";
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.cache;
+
+import org.jooq.Record;
+
+/**
+ * Rough estimate of the heap retained by one record, its header, its value array and the values themselves.
+ */
+public final class RecordSize {
+
+    private final Record record;
+
+    public RecordSize(final Record record) {
+        this.record = record;
+    }
+
+    public long bytes() {
+        long bytes = 48 + 8L * record.size();
+        for (int i = 0; i < record.size(); i++) {
+            bytes += valueBytes(record.get(i));
+        }
+        return bytes;
+    }
+
+    private long valueBytes(final Object value) {
+        final long bytes;
+        if (value == null) {
+            bytes = 0;
+        }
+        else if (value instanceof CharSequence) {
+            bytes = 40 + 2L * ((CharSequence) value).length();
+        }
+        else if (value instanceof byte[]) {
+            bytes = 16 + ((byte[]) value).length;
+        }
+        else if (value instanceof Number || value instanceof Boolean) {
+            bytes = 24;
+        }
+        else {
+            bytes = 48;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.cache;
+
+import org.jooq.Record;
+import org.jooq.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Least recently used result cache bounded by the estimated retained bytes of its results. Results are copied when
+ * stored and when read, so callers never share record instances with the cache or with each other.
+ */
+public final class ResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+
+    private final long maximumBytes;
+    private final Duration timeToLive;
+    private final LinkedHashMap<QueryKey, CachedResult> entries;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private long bytes;
+
+    public ResultCache(final long maximumBytes, final Duration timeToLive) {
+        this.maximumBytes = maximumBytes;
+        this.timeToLive = timeToLive;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.bytes = 0;
+    }
+
+    public Optional<Result<Record>> result(final QueryKey key) {
+        final Result<Record> cached;
+        synchronized (entries) {
+            final CachedResult entry = entries.get(key);
+            if (entry == null) {
+                cached = null;
+            }
+            else if (entry.expiresAt - System.nanoTime() < 0) {
+                remove(key);
+                evictions.increment();
+                cached = null;
+            }
+            else {
+                cached = entry.result;
+            }
+        }
+
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached.into(cached.fields()));
+    }
+
+    public void put(final QueryKey key, final Result<Record> result) {
+        put(key, result, timeToLive);
+    }
+
+    public void put(final QueryKey key, final Result<Record> result, final Duration timeToLive) {
+        final Result<Record> copy = result.into(result.fields());
+        final long resultBytes = new ResultSize(copy).bytes();
+        if (resultBytes > maximumBytes) {
+            LOGGER.debug("Not caching <{}>, result of <{}> bytes exceeds cache size", key, resultBytes);
+            return;
+        }
+
+        final CachedResult entry = new CachedResult(copy, resultBytes, System.nanoTime() + timeToLive.toNanos());
+        synchronized (entries) {
+            remove(key);
+            entries.put(key, entry);
+            bytes += resultBytes;
+
+            final Iterator<Map.Entry<QueryKey, CachedResult>> eldest = entries.entrySet().iterator();
+            while (bytes > maximumBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().bytes;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    private void remove(final QueryKey key) {
+        final CachedResult removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.bytes;
+        }
+    }
+
+    private static final class CachedResult {
+
+        private final Result<Record> result;
+        private final long bytes;
+        private final long expiresAt;
+
+        private CachedResult(final Result<Record> result, final long bytes, final long expiresAt) {
+            this.result = result;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.cache;
+
+import com.github.macwille.queries.CallableQuery;
+import org.jooq.Record;
+import org.jooq.Result;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class SharedQuery implements CallableQuery {
+
+    private final SingleFlight flights;
+    private final QueryKey key;
+    private final CallableQuery query;
+    private final AtomicBoolean cancelled;
+
+    public SharedQuery(final SingleFlight flights, final QueryKey key, final CallableQuery query) {
+        this.flights = flights;
+        this.key = key;
+        this.query = query;
+        this.cancelled = new AtomicBoolean(false);
+    }
+
+    @Override
+    public Result<Record> call() throws Exception {
+        return flights.result(key, query, cancelled::get);
+    }
+
+    @Override
+    public void cancel() {
+        cancelled.set(true);
+        query.cancel();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.cache;
+
+import com.github.macwille.queries.CallableQuery;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs identical queries that are in flight at the same time only once. The caller that starts the query gets its
+ * result, every caller waiting on it gets a copy. When the caller that started the query is cancelled, for example by
+ * its deadline, the flight ends in cancellation instead of an error and a waiting caller runs the query itself.
+ */
+public final class SingleFlight {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final ConcurrentHashMap<QueryKey, CompletableFuture<Result<Record>>> flights;
+
+    public SingleFlight() {
+        this.flights = new ConcurrentHashMap<>();
+    }
+
+    public Result<Record> result(final QueryKey key, final CallableQuery query) throws Exception {
+        return result(key, query, () -> false);
+    }
+
+    /**
+     * The caller tells whether it has been cancelled, so that a query of a cancelled caller does not fail the callers
+     * waiting on it.
+     */
+    public Result<Record> result(
+            final QueryKey key,
+            final CallableQuery query,
+            final BooleanSupplier cancelled
+    ) throws Exception {
+        final CompletableFuture<Result<Record>> flight = new CompletableFuture<>();
+        final CompletableFuture<Result<Record>> existing = flights.putIfAbsent(key, flight);
+        if (existing == null) {
+            return led(key, query, cancelled, flight);
+        }
+
+        LOGGER.trace("Joining query in flight <{}>", key);
+        try {
+            return joined(existing);
+        }
+        catch (final CancellationException e) {
+            if (cancelled.getAsBoolean()) {
+                throw e;
+            }
+            LOGGER.debug("Query in flight <{}> was cancelled, running it again", key);
+            flights.remove(key, existing);
+            return result(key, query, cancelled);
+        }
+    }
+
+    private Result<Record> led(
+            final QueryKey key,
+            final CallableQuery query,
+            final BooleanSupplier cancelled,
+            final CompletableFuture<Result<Record>> flight
+    ) throws Exception {
+        try {
+            final Result<Record> result = query.call();
+            flight.complete(result);
+            return result;
+        }
+        catch (final Throwable e) {
+            if (cancelled.getAsBoolean() || e instanceof InterruptedException || e instanceof CancellationException) {
+                flight.cancel(false);
+            }
+            else {
+                flight.completeExceptionally(e);
+            }
+            throw e;
+        }
+        finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private Result<Record> joined(final CompletableFuture<Result<Record>> flight) throws Exception {
+        try {
+            final Result<Record> result = flight.get();
+            return result.into(result.fields());
+        }
+        catch (final ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.columnar;
+
+import org.jooq.DataType;
+
+/**
+ * One column of a {@link ColumnarResult}. The typed accessors read primitives without boxing, columns that cannot
+ * represent the requested type throw {@link IllegalStateException}.
+ */
+public interface Column {
+
+    String name();
+
+    DataType<?> type();
+
+    int size();
+
+    boolean isNull(int row);
+
+    Object value(int row);
+
+    long bytes();
+
+    default int intValue(final int row) {
+        throw new IllegalStateException("Column <" + name() + "> of type <" + type() + "> has no int values");
+    }
+
+    default long longValue(final int row) {
+        throw new IllegalStateException("Column <" + name() + "> of type <" + type() + "> has no long values");
+    }
+
+    default double doubleValue(final int row) {
+        throw new IllegalStateException("Column <" + name() + "> of type <" + type() + "> has no double values");
+    }
+
+    default String stringValue(final int row) {
+        final Object value = value(row);
+        return value == null ? null : value.toString();
+    }
+}
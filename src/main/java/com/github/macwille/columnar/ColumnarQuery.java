@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.columnar;
+
+import com.github.macwille.ThreadRuntimeException;
+import com.github.macwille.queries.RunningStatement;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs a query through jOOQ and reads its {@link ResultSet} straight into a {@link ColumnarResult}, without creating
+ * intermediate records. The query timeout, execute listeners and statement cancellation of the configuration apply as
+ * for any other query.
+ */
+public final class ColumnarQuery implements Callable<ColumnarResult> {
+
+    private final DSLContext ctx;
+    private final String query;
+    private final int fetchSize;
+    private final RunningStatement statement;
+
+    public ColumnarQuery(final Configuration configuration, final String query) {
+        this(DSL.using(configuration), query, 1000);
+    }
+
+    public ColumnarQuery(final Configuration configuration, final String query, final int fetchSize) {
+        this(DSL.using(configuration), query, fetchSize);
+    }
+
+    public ColumnarQuery(final DSLContext ctx, final String query, final int fetchSize) {
+        this.ctx = ctx;
+        this.query = query;
+        this.fetchSize = fetchSize;
+        this.statement = new RunningStatement();
+    }
+
+    @Override
+    public ColumnarResult call() {
+        try {
+            return statement.fetch(ctx.resultQuery(query).fetchSize(fetchSize), running -> {
+                try (ResultSet resultSet = running.fetchResultSet()) {
+                    return new ColumnarResult(new ResultSetColumns(resultSet).columns());
+                }
+                catch (final SQLException e) {
+                    throw new DataAccessException("Error reading columnar result", e);
+                }
+            });
+        }
+        catch (final DataAccessException e) {
+            throw new ThreadRuntimeException("Error executing columnar query: " + query, e);
+        }
+    }
+
+    /**
+     * Cancels the statement of the running query, does nothing when the query is not running.
+     */
+    public void cancel() {
+        statement.cancel();
+    }
+}
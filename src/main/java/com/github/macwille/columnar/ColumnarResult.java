@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.columnar;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.impl.DSL;
+
+import java.util.List;
+
+/**
+ * Query result stored column by column. Numeric columns are primitive arrays with a null bitmap, strings are
+ * dictionary encoded, which keeps large results far smaller than a {@link Result} of boxed values.
+ */
+public final class ColumnarResult {
+
+    private final List<Column> columns;
+
+    public ColumnarResult(final List<Column> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    public int rows() {
+        return columns.isEmpty() ? 0 : columns.get(0).size();
+    }
+
+    public int columns() {
+        return columns.size();
+    }
+
+    public Column column(final int column) {
+        return columns.get(column);
+    }
+
+    public Column column(final String name) {
+        for (final Column column : columns) {
+            if (column.name().equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("No column named <" + name + ">");
+    }
+
+    public boolean isNull(final int row, final int column) {
+        return columns.get(column).isNull(row);
+    }
+
+    public Object value(final int row, final int column) {
+        return columns.get(column).value(row);
+    }
+
+    public Object[] row(final int row) {
+        final Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = columns.get(i).value(row);
+        }
+        return values;
+    }
+
+    public long bytes() {
+        long bytes = 16L;
+        for (final Column column : columns) {
+            bytes += column.bytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Materializes the rows as jOOQ records, boxing every value.
+     */
+    public Result<Record> result(final DSLContext ctx) {
+        final Field<?>[] fields = new Field<?>[columns.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = DSL.field(DSL.name(columns.get(i).name()), columns.get(i).type());
+        }
+        final Result<Record> result = ctx.newResult(fields);
+        final int rows = rows();
+        for (int row = 0; row < rows; row++) {
+            final Record record = ctx.newRecord(fields);
+            record.fromArray(row(row));
+            record.touched(false);
+            result.add(record);
+        }
+        return result;
+    }
+}
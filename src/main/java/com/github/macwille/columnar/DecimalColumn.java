@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.columnar;
+
+import org.jooq.DataType;
+import org.jooq.impl.SQLDataType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Decimals of at most 18 digits stored as unscaled longs with the scale of the column, so they are kept without a
+ * {@link BigDecimal} per row. A value that does not fit the reported precision and scale fails to append with an
+ * {@link ArithmeticException} and leaves the column unchanged, its rows can then be moved to {@link #objects()}.
+ */
+final class DecimalColumn implements AppendableColumn {
+
+    private final String name;
+    private final int precision;
+    private final int scale;
+    private final BitSet nulls;
+    private long[] values;
+    private int size;
+
+    DecimalColumn(final String name, final int precision, final int scale) {
+        this.name = name;
+        this.precision = precision;
+        this.scale = scale;
+        this.nulls = new BitSet();
+        this.values = new long[16];
+        this.size = 0;
+    }
+
+    @Override
+    public void append(final ResultSet resultSet, final int column) throws SQLException {
+        final BigDecimal value = resultSet.getBigDecimal(column);
+        final long unscaled;
+        if (value == null) {
+            unscaled = 0;
+        }
+        else {
+            unscaled = value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        if (value == null) {
+            nulls.set(size);
+        }
+        values[size] = unscaled;
+        size++;
+    }
+
+    /**
+     * The rows appended so far as decimal objects, to continue in once a value does not fit.
+     */
+    ObjectColumn objects() {
+        final ObjectColumn objects = new ObjectColumn(name);
+        for (int row = 0; row < size; row++) {
+            objects.add(value(row));
+        }
+        return objects;
+    }
+
+    @Override
+    public void trim() {
+        values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public DataType<?> type() {
+        return SQLDataType.DECIMAL(precision, scale);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+        return nulls.get(row);
+    }
+
+    @Override
+    public Object value(final int row) {
+        return isNull(row) ? null : BigDecimal.valueOf(values[row], scale);
+    }
+
+    /**
+     * The value multiplied by ten to the power of the scale.
+     */
+    public long unscaledValue(final int row) {
+        return values[row];
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    @Override
+    public double doubleValue(final int row) {
+        return values[row] / Math.pow(10, scale);
+    }
+
+    @Override
+    public long bytes() {
+        return 24L + 8L * values.length + nulls.size() / 8;
+    }
+}
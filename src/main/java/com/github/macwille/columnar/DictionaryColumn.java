@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.columnar;
+
+import org.jooq.DataType;
+import org.jooq.impl.SQLDataType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strings stored once in a dictionary, every row keeps only the code of its string. Code -1 marks a null.
+ */
+final class DictionaryColumn implements AppendableColumn {
+
+    private final String name;
+    private final List<String> dictionary;
+    private final Map<String, Integer> codes;
+    private int[] values;
+    private int size;
+
+    DictionaryColumn(final String name) {
+        this.name = name;
+        this.dictionary = new ArrayList<>();
+        this.codes = new HashMap<>();
+        this.values = new int[16];
+        this.size = 0;
+    }
+
+    @Override
+    public void append(final ResultSet resultSet, final int column) throws SQLException {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        final String value = resultSet.getString(column);
+        if (value == null) {
+            values[size] = -1;
+        }
+        else {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codes.put(value, code);
+            }
+            values[size] = code;
+        }
+        size++;
+    }
+
+    @Override
+    public void trim() {
+        values = Arrays.copyOf(values, size);
+        codes.clear();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public DataType<?> type() {
+        return SQLDataType.VARCHAR;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+        return values[row] < 0;
+    }
+
+    @Override
+    public Object value(final int row) {
+        return stringValue(row);
+    }
+
+    @Override
+    public String stringValue(final int row) {
+        return isNull(row) ? null : dictionary.get(values[row]);
+    }
+
+    public int distinctValues() {
+        return dictionary.size();
+    }
+
+    @Override
+    public long bytes() {
+        long bytes = 16L + 4L * values.length + 16L + 8L * dictionary.size();
+        for (final String value : dictionary) {
+            bytes += 40 + 2L * value.length();
+        }
+        return bytes;
+    }
+}
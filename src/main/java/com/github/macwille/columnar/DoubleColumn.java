@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.columnar;
+
+import org.jooq.DataType;
+import org.jooq.impl.SQLDataType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+final class DoubleColumn implements AppendableColumn {
+
+    private final String name;
+    private final BitSet nulls;
+    private double[] values;
+    private int size;
+
+    DoubleColumn(final String name) {
+        this.name = name;
+        this.nulls = new BitSet();
+        this.values = new double[16];
+        this.size = 0;
+    }
+
+    @Override
+    public void append(final ResultSet resultSet, final int column) throws SQLException {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = resultSet.getDouble(column);
+        if (resultSet.wasNull()) {
+            nulls.set(size);
+        }
+        size++;
+    }
+
+    @Override
+    public void trim() {
+        values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public DataType<?> type() {
+        return SQLDataType.DOUBLE;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+        return nulls.get(row);
+    }
+
+    @Override
+    public Object value(final int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    @Override
+    public double doubleValue(final int row) {
+        return values[row];
+    }
+
+    @Override
+    public long bytes() {
+        return 16L + 8L * values.length + nulls.size() / 8;
+    }
+}
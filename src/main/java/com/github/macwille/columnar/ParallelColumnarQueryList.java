@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.columnar;
+
+import com.github.macwille.queries.ParallelCalls;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs the columnar queries in parallel. A failure or the deadline cancels the statements of the queries still
+ * running.
+ */
+public final class ParallelColumnarQueryList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelColumnarQueryList.class);
+    private static final Duration NO_DEADLINE = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final List<ColumnarQuery> queryList;
+    private final UnaryOperator<Callable<ColumnarResult>> decorator;
+    private final ExecutorService executorService;
+    private final Duration deadline;
+
+    public ParallelColumnarQueryList(final List<ColumnarQuery> queryList, final ExecutorService executorService) {
+        this(queryList, UnaryOperator.identity(), executorService, NO_DEADLINE);
+    }
+
+    /**
+     * Each query runs through the decorator, for example to wait for a connection permit or to measure it.
+     */
+    public ParallelColumnarQueryList(
+            final List<ColumnarQuery> queryList,
+            final UnaryOperator<Callable<ColumnarResult>> decorator,
+            final ExecutorService executorService,
+            final Duration deadline
+    ) {
+        this.queryList = queryList;
+        this.decorator = decorator;
+        this.executorService = executorService;
+        this.deadline = deadline;
+    }
+
+    public List<ColumnarResult> resultList() {
+        LOGGER.debug("Executing <{}> columnar queries", queryList.size());
+        final List<Callable<ColumnarResult>> calls = new ArrayList<>(queryList.size());
+        for (final ColumnarQuery query : queryList) {
+            calls.add(decorator.apply(query));
+        }
+        return new ParallelCalls<>(calls, index -> queryList.get(index).cancel(), executorService, deadline).values();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.columnar;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads every remaining row of a {@link ResultSet} into typed columns, choosing the storage from the JDBC type.
+ */
+final class ResultSetColumns {
+
+    private final ResultSet resultSet;
+
+    ResultSetColumns(final ResultSet resultSet) {
+        this.resultSet = resultSet;
+    }
+
+    List<Column> columns() throws SQLException {
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final int count = metaData.getColumnCount();
+        final AppendableColumn[] columns = new AppendableColumn[count];
+        for (int i = 0; i < count; i++) {
+            columns[i] = column(metaData, i + 1);
+        }
+        while (resultSet.next()) {
+            for (int i = 0; i < count; i++) {
+                columns[i] = appended(columns[i], i + 1);
+            }
+        }
+        final List<Column> trimmed = new ArrayList<>(count);
+        for (final AppendableColumn column : columns) {
+            column.trim();
+            trimmed.add(column);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Drivers may report a precision or scale that the values do not keep to, such a decimal column continues as
+     * objects instead of failing the query.
+     */
+    private AppendableColumn appended(final AppendableColumn column, final int index) throws SQLException {
+        try {
+            column.append(resultSet, index);
+            return column;
+        }
+        catch (final ArithmeticException e) {
+            if (!(column instanceof DecimalColumn decimal)) {
+                throw e;
+            }
+            final ObjectColumn objects = decimal.objects();
+            objects.append(resultSet, index);
+            return objects;
+        }
+    }
+
+    private AppendableColumn column(final ResultSetMetaData metaData, final int column) throws SQLException {
+        final String name = metaData.getColumnLabel(column);
+        return switch (metaData.getColumnType(column)) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER -> new IntColumn(name);
+            case Types.BIGINT -> new LongColumn(name);
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> new DoubleColumn(name);
+            case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR ->
+                new DictionaryColumn(name);
+            case Types.DECIMAL, Types.NUMERIC ->
+                decimal(name, metaData.getPrecision(column), metaData.getScale(column));
+            default -> new ObjectColumn(name);
+        };
+    }
+
+    /**
+     * Decimals that fit in a long are kept unscaled, wider ones stay objects.
+     */
+    private AppendableColumn decimal(final String name, final int precision, final int scale) {
+        final AppendableColumn column;
+        if (precision <= 0 || precision > 18 || scale < 0) {
+            column = new ObjectColumn(name);
+        }
+        else {
+            column = new DecimalColumn(name, precision, scale);
+        }
+        return column;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dag;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queries with dependencies between them, forming a directed acyclic graph.
+ */
+public final class QueryGraph {
+
+    private final List<QueryNode> nodes;
+
+    public QueryGraph(final List<QueryNode> nodes) {
+        this.nodes = List.copyOf(nodes);
+    }
+
+    /**
+     * Returns the nodes in an order where every node comes after its dependencies. Throws
+     * {@link IllegalArgumentException} for duplicate names, unknown dependencies and cycles.
+     */
+    public List<QueryNode> ordered() {
+        final Map<String, QueryNode> byName = new LinkedHashMap<>();
+        for (final QueryNode node : nodes) {
+            if (byName.put(node.name(), node) != null) {
+                throw new IllegalArgumentException("Duplicate query node <" + node.name() + ">");
+            }
+        }
+
+        final Map<String, Integer> waiting = new HashMap<>();
+        final Map<String, List<QueryNode>> dependents = new HashMap<>();
+        final Deque<QueryNode> ready = new ArrayDeque<>();
+        for (final QueryNode node : nodes) {
+            for (final String dependency : node.dependencies()) {
+                if (!byName.containsKey(dependency)) {
+                    throw new IllegalArgumentException(
+                            "Query node <" + node.name() + "> depends on unknown node <" + dependency + ">"
+                    );
+                }
+                dependents.computeIfAbsent(dependency, name -> new ArrayList<>()).add(node);
+            }
+            waiting.put(node.name(), node.dependencies().size());
+            if (node.dependencies().isEmpty()) {
+                ready.add(node);
+            }
+        }
+
+        final List<QueryNode> ordered = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            final QueryNode node = ready.poll();
+            ordered.add(node);
+            for (final QueryNode dependent : dependents.getOrDefault(node.name(), List.of())) {
+                if (waiting.merge(dependent.name(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (ordered.size() != nodes.size()) {
+            final List<String> cyclic = new ArrayList<>();
+            for (final Map.Entry<String, Integer> entry : waiting.entrySet()) {
+                if (entry.getValue() > 0) {
+                    cyclic.add(entry.getKey());
+                }
+            }
+            throw new IllegalArgumentException("Query nodes <" + cyclic + "> depend on each other in a cycle");
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dag;
+
+import org.jooq.Record;
+import org.jooq.Result;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Named query of a {@link QueryGraph}. The query starts once the queries it depends on have finished, its bind values
+ * for the {@code ?} placeholders are computed from their results, keyed by node name.
+ */
+public final class QueryNode {
+
+    private final String name;
+    private final String sql;
+    private final List<String> dependencies;
+    private final Function<Map<String, Result<Record>>, Object[]> bindings;
+
+    public QueryNode(final String name, final String sql) {
+        this(name, sql, List.of(), upstream -> new Object[0]);
+    }
+
+    public QueryNode(
+            final String name,
+            final String sql,
+            final List<String> dependencies,
+            final Function<Map<String, Result<Record>>, Object[]> bindings
+    ) {
+        this.name = name;
+        this.sql = sql;
+        this.dependencies = List.copyOf(dependencies);
+        this.bindings = bindings;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public List<String> dependencies() {
+        return dependencies;
+    }
+
+    public Object[] bindings(final Map<String, Result<Record>> upstream) {
+        return bindings.apply(upstream);
+    }
+}
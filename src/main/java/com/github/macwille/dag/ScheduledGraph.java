@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dag;
+
+import com.github.macwille.queries.CallableQuery;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+/**
+ * Starts every query of the graph as soon as the queries it depends on have finished, independent branches run in
+ * parallel on the executor. When a query fails its dependents are not started and the queries still running are
+ * cancelled.
+ */
+public final class ScheduledGraph {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledGraph.class);
+
+    private final QueryGraph graph;
+    private final Executor executor;
+    private final BiFunction<String, Object[], CallableQuery> queries;
+
+    public ScheduledGraph(
+            final QueryGraph graph,
+            final Executor executor,
+            final BiFunction<String, Object[], CallableQuery> queries
+    ) {
+        this.graph = graph;
+        this.executor = executor;
+        this.queries = queries;
+    }
+
+    /**
+     * Completes with the result of every node keyed by name, or exceptionally with the first failure.
+     */
+    public CompletableFuture<Map<String, Result<Record>>> results() {
+        final List<QueryNode> ordered = graph.ordered();
+        LOGGER.debug("Scheduling graph of <{}> queries", ordered.size());
+        final Map<String, CompletableFuture<Result<Record>>> futures = new ConcurrentHashMap<>();
+        final Map<String, CallableQuery> running = new ConcurrentHashMap<>();
+        final CompletableFuture<Map<String, Result<Record>>> all = new CompletableFuture<>();
+        for (final QueryNode node : ordered) {
+            final CompletableFuture<?>[] upstream = new CompletableFuture<?>[node.dependencies().size()];
+            for (int i = 0; i < upstream.length; i++) {
+                upstream[i] = futures.get(node.dependencies().get(i));
+            }
+            final CompletableFuture<Result<Record>> future = CompletableFuture
+                    .allOf(upstream)
+                    .thenApplyAsync(ignored -> run(node, futures, running, all), executor);
+            futures.put(node.name(), future);
+            future.whenComplete((result, error) -> {
+                if (error != null && all.completeExceptionally(error)) {
+                    cancel(futures, running);
+                }
+            });
+        }
+        // a node failing while the graph was still being scheduled misses the futures put after it
+        if (all.isDone()) {
+            cancel(futures, running);
+        }
+
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+            final Map<String, Result<Record>> results = new LinkedHashMap<>();
+            for (final QueryNode node : ordered) {
+                results.put(node.name(), futures.get(node.name()).join());
+            }
+            all.complete(results);
+        });
+        return all;
+    }
+
+    private Result<Record> run(
+            final QueryNode node,
+            final Map<String, CompletableFuture<Result<Record>>> futures,
+            final Map<String, CallableQuery> running,
+            final CompletableFuture<Map<String, Result<Record>>> all
+    ) {
+        final Map<String, Result<Record>> upstream = new HashMap<>();
+        for (final String dependency : node.dependencies()) {
+            upstream.put(dependency, futures.get(dependency).join());
+        }
+        final CallableQuery query = queries.apply(node.sql(), node.bindings(upstream));
+        LOGGER.trace("Running query node <{}>", node.name());
+        running.put(node.name(), query);
+        try {
+            // registered before checking, so a failure either sees the query to cancel or is seen here
+            if (all.isDone()) {
+                throw new CancellationException("Graph failed before query node <" + node.name() + "> started");
+            }
+            return query.call();
+        }
+        catch (final RuntimeException e) {
+            throw e;
+        }
+        catch (final Exception e) {
+            throw new CompletionException(e);
+        }
+        finally {
+            running.remove(node.name());
+        }
+    }
+
+    private void cancel(
+            final Map<String, CompletableFuture<Result<Record>>> futures,
+            final Map<String, CallableQuery> running
+    ) {
+        for (final CompletableFuture<Result<Record>> future : futures.values()) {
+            future.cancel(true);
+        }
+        for (final CallableQuery query : running.values()) {
+            query.cancel();
+        }
+    }
+}
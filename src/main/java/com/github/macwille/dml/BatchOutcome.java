@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dml;
+
+import com.github.macwille.queries.QueryStatus;
+
+import java.util.Optional;
+
+/**
+ * Status of one batch, with its update counts when it succeeded. A failed batch without a transaction may have
+ * applied some of its statements.
+ */
+public final class BatchOutcome {
+
+    private final int index;
+    private final QueryStatus status;
+    private final int[] updateCounts;
+    private final Throwable error;
+
+    public BatchOutcome(final int index, final int[] updateCounts) {
+        this(index, QueryStatus.SUCCEEDED, updateCounts, null);
+    }
+
+    public BatchOutcome(final int index, final QueryStatus status, final Throwable error) {
+        this(index, status, null, error);
+    }
+
+    private BatchOutcome(final int index, final QueryStatus status, final int[] updateCounts, final Throwable error) {
+        this.index = index;
+        this.status = status;
+        this.updateCounts = updateCounts;
+        this.error = error;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public QueryStatus status() {
+        return status;
+    }
+
+    public Optional<int[]> updateCounts() {
+        return Optional.ofNullable(updateCounts);
+    }
+
+    public Optional<Throwable> error() {
+        return Optional.ofNullable(error);
+    }
+}
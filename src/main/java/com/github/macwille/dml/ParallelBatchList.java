@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dml;
+
+import com.github.macwille.ThreadRuntimeException;
+import com.github.macwille.queries.QueryStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Executes the batches in parallel, each on its own pool connection, and joins their update counts in input order.
+ * Batches that already started are never interrupted, so the outcome of every batch is known when the run ends.
+ */
+public final class ParallelBatchList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelBatchList.class);
+
+    private final List<CallableBatch> batches;
+    private final ExecutorService executorService;
+
+    public ParallelBatchList(final List<CallableBatch> batches, final ExecutorService executorService) {
+        this.batches = batches;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Fails fast, the first failing batch cancels the batches not yet started. The exception tells how many batches
+     * were applied, {@link #outcomes()} tells which.
+     */
+    public int[] updateCounts() {
+        final List<BatchOutcome> outcomes = run(true);
+        int statements = 0;
+        for (final CallableBatch batch : batches) {
+            statements += batch.size();
+        }
+        final int[] updateCounts = new int[statements];
+        int offset = 0;
+        for (final BatchOutcome outcome : outcomes) {
+            if (outcome.status() != QueryStatus.SUCCEEDED) {
+                final BatchOutcome failure = failure(outcomes);
+                throw new ThreadRuntimeException(
+                        "Batch <" + failure.index() + "> " + failure.status() + " executing batches, <"
+                                + applied(outcomes) + "> of <" + outcomes.size() + "> batches were applied",
+                        failure.error().orElseThrow()
+                );
+            }
+            final int[] counts = outcome.updateCounts().orElseThrow();
+            System.arraycopy(counts, 0, updateCounts, offset, counts.length);
+            offset += counts.length;
+        }
+        return updateCounts;
+    }
+
+    /**
+     * Runs every batch to completion, failures do not stop the other batches.
+     */
+    public List<BatchOutcome> outcomes() {
+        return run(false);
+    }
+
+    private List<BatchOutcome> run(final boolean failFast) {
+        LOGGER.debug("Executing <{}> batches", batches.size());
+        final BatchOutcome[] outcomes = new BatchOutcome[batches.size()];
+        final CompletionService<int[]> completionService = new ExecutorCompletionService<>(executorService);
+        final Map<Future<int[]>, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < batches.size(); i++) {
+            indexes.put(completionService.submit(batches.get(i)), i);
+        }
+
+        boolean stopped = false;
+        int completed = 0;
+        while (completed < batches.size() && !stopped) {
+            final Future<int[]> future;
+            try {
+                future = completionService.take();
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped = true;
+                break;
+            }
+            final int index = indexes.get(future);
+            outcomes[index] = outcome(index, future);
+            completed++;
+            if (failFast && outcomes[index].status() != QueryStatus.SUCCEEDED) {
+                LOGGER.debug("Batch <{}> failed, cancelling batches not yet started", index);
+                stopped = true;
+            }
+        }
+
+        for (final Map.Entry<Future<int[]>, Integer> entry : indexes.entrySet()) {
+            final int index = entry.getValue();
+            if (outcomes[index] == null) {
+                if (entry.getKey().cancel(false)) {
+                    outcomes[index] = new BatchOutcome(
+                            index,
+                            QueryStatus.CANCELLED,
+                            new CancellationException("Batch was not started after another batch failed")
+                    );
+                }
+                else {
+                    outcomes[index] = outcome(index, entry.getKey());
+                }
+            }
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private BatchOutcome outcome(final int index, final Future<int[]> future) {
+        try {
+            return new BatchOutcome(index, future.get());
+        }
+        catch (final ExecutionException e) {
+            return new BatchOutcome(index, QueryStatus.FAILED, e.getCause());
+        }
+        catch (final CancellationException e) {
+            return new BatchOutcome(index, QueryStatus.CANCELLED, e);
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new BatchOutcome(index, QueryStatus.CANCELLED, e);
+        }
+    }
+
+    private BatchOutcome failure(final List<BatchOutcome> outcomes) {
+        BatchOutcome failure = outcomes.get(0);
+        for (final BatchOutcome outcome : outcomes) {
+            if (outcome.status() == QueryStatus.FAILED) {
+                return outcome;
+            }
+            if (failure.status() == QueryStatus.SUCCEEDED) {
+                failure = outcome;
+            }
+        }
+        return failure;
+    }
+
+    private int applied(final List<BatchOutcome> outcomes) {
+        int applied = 0;
+        for (final BatchOutcome outcome : outcomes) {
+            if (outcome.status() == QueryStatus.SUCCEEDED) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+}
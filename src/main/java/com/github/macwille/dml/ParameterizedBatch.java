@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dml;
+
+import com.github.macwille.ThreadRuntimeException;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Executes one prepared DML statement with many rows of bind values as a single JDBC batch, optionally inside a
+ * transaction.
+ */
+public final class ParameterizedBatch implements CallableBatch {
+
+    private final DSLContext ctx;
+    private final String sql;
+    private final List<Object[]> rows;
+    private final boolean transactional;
+
+    public ParameterizedBatch(
+            final Configuration configuration,
+            final String sql,
+            final List<Object[]> rows,
+            final boolean transactional
+    ) {
+        this(DSL.using(configuration), sql, rows, transactional);
+    }
+
+    public ParameterizedBatch(
+            final DSLContext ctx,
+            final String sql,
+            final List<Object[]> rows,
+            final boolean transactional
+    ) {
+        this.ctx = ctx;
+        this.sql = sql;
+        this.rows = rows;
+        this.transactional = transactional;
+    }
+
+    @Override
+    public int[] call() {
+        try {
+            if (transactional) {
+                return ctx.transactionResult(transaction -> executed(transaction.dsl()));
+            }
+            return executed(ctx);
+        }
+        catch (final DataAccessException e) {
+            throw new ThreadRuntimeException("Error executing batch of <" + rows.size() + "> rows: " + sql, e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    private int[] executed(final DSLContext context) {
+        return context.connectionResult(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (final Object[] bindings : rows) {
+                    for (int i = 0; i < bindings.length; i++) {
+                        statement.setObject(i + 1, bindings[i]);
+                    }
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+}
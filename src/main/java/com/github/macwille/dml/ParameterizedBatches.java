@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dml;
+
+import org.jooq.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ParameterizedBatches {
+
+    private final Configuration configuration;
+    private final String sql;
+    private final List<Object[]> rows;
+    private final int batchSize;
+    private final boolean transactional;
+
+    public ParameterizedBatches(
+            final Configuration configuration,
+            final String sql,
+            final List<Object[]> rows,
+            final int batchSize,
+            final boolean transactional
+    ) {
+        this.configuration = configuration;
+        this.sql = sql;
+        this.rows = rows;
+        this.batchSize = batchSize;
+        this.transactional = transactional;
+    }
+
+    public List<CallableBatch> batches() {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, was <" + batchSize + ">");
+        }
+        final List<CallableBatch> batches = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i += batchSize) {
+            batches
+                    .add(
+                            new ParameterizedBatch(
+                                    configuration,
+                                    sql,
+                                    rows.subList(i, Math.min(i + batchSize, rows.size())),
+                                    transactional
+                            )
+                    );
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dml;
+
+import com.github.macwille.ThreadRuntimeException;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Sends a list of DML statements to the database as one JDBC batch, optionally inside a transaction so the batch is
+ * applied completely or not at all.
+ */
+public final class StatementBatch implements CallableBatch {
+
+    private final DSLContext ctx;
+    private final List<String> statements;
+    private final boolean transactional;
+
+    public StatementBatch(
+            final Configuration configuration,
+            final List<String> statements,
+            final boolean transactional
+    ) {
+        this(DSL.using(configuration), statements, transactional);
+    }
+
+    public StatementBatch(final DSLContext ctx, final List<String> statements, final boolean transactional) {
+        this.ctx = ctx;
+        this.statements = statements;
+        this.transactional = transactional;
+    }
+
+    @Override
+    public int[] call() {
+        try {
+            if (transactional) {
+                return ctx.transactionResult(transaction -> executed(transaction.dsl()));
+            }
+            return executed(ctx);
+        }
+        catch (final DataAccessException e) {
+            throw new ThreadRuntimeException("Error executing batch of <" + statements.size() + "> statements", e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return statements.size();
+    }
+
+    private int[] executed(final DSLContext context) {
+        return context.connectionResult(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                for (final String sql : statements) {
+                    statement.addBatch(sql);
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dml;
+
+import org.jooq.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class StatementBatches {
+
+    private final Configuration configuration;
+    private final List<String> statements;
+    private final int batchSize;
+    private final boolean transactional;
+
+    public StatementBatches(
+            final Configuration configuration,
+            final List<String> statements,
+            final int batchSize,
+            final boolean transactional
+    ) {
+        this.configuration = configuration;
+        this.statements = statements;
+        this.batchSize = batchSize;
+        this.transactional = transactional;
+    }
+
+    public List<CallableBatch> batches() {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, was <" + batchSize + ">");
+        }
+        final List<CallableBatch> batches = new ArrayList<>();
+        for (int i = 0; i < statements.size(); i += batchSize) {
+            batches
+                    .add(
+                            new StatementBatch(
+                                    configuration,
+                                    statements.subList(i, Math.min(i + batchSize, statements.size())),
+                                    transactional
+                            )
+                    );
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.limit;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Additive increase, multiplicative decrease on smoothed latency, in the style of Vegas and gradient limits. Two moving
+ * averages of the latency are kept: a short one over about the last 10 queries and a long one over about the last 500,
+ * which serves as the baseline. Until enough queries have finished both are plain means. The limit grows by one for
+ * every query that finishes while the short average stays within the tolerance of the baseline and the limit is at
+ * least half used. It is multiplied by the backoff when a query fails, or when the short average rises above the
+ * tolerance times the baseline, after which the short average starts over from the baseline. A workload mixing fast and
+ * slow queries moves both averages alike, so only a sustained rise in latency shrinks the limit.
+ */
+public final class AimdLimit implements ConcurrencyLimit {
+
+    private final int maximum;
+    private final double tolerance;
+    private final double backoff;
+    private final ReentrantLock lock;
+    private final Condition available;
+    private int limit;
+    private int inFlight;
+    private long samples;
+    private double shortNanos;
+    private double baselineNanos;
+
+    public AimdLimit(final int maximum) {
+        this(Math.max(1, maximum / 2), maximum);
+    }
+
+    public AimdLimit(final int initial, final int maximum) {
+        this(initial, maximum, 2.0, 0.9);
+    }
+
+    public AimdLimit(final int initial, final int maximum, final double tolerance, final double backoff) {
+        if (initial < 1 || initial > maximum) {
+            throw new IllegalArgumentException(
+                    "Initial limit <" + initial + "> must be between 1 and the maximum <" + maximum + ">"
+            );
+        }
+        this.maximum = maximum;
+        this.tolerance = tolerance;
+        this.backoff = backoff;
+        this.lock = new ReentrantLock();
+        this.available = lock.newCondition();
+        this.limit = initial;
+        this.inFlight = 0;
+        this.samples = 0;
+        this.shortNanos = 0;
+        this.baselineNanos = 0;
+    }
+
+    @Override
+    public void acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= limit) {
+                available.await();
+            }
+            inFlight++;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void release(final long latencyNanos, final boolean failed) {
+        lock.lock();
+        try {
+            final int used = inFlight;
+            inFlight--;
+            if (!failed) {
+                samples++;
+                shortNanos += (latencyNanos - shortNanos) / Math.min(samples, 10);
+                baselineNanos += (latencyNanos - baselineNanos) / Math.min(samples, 500);
+            }
+            if (failed || shortNanos > baselineNanos * tolerance) {
+                limit = Math.max(1, (int) (limit * backoff));
+                shortNanos = baselineNanos;
+            }
+            else if (used * 2 >= limit) {
+                limit = Math.min(maximum, limit + 1);
+            }
+            available.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int limit() {
+        lock.lock();
+        try {
+            return limit;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int maximum() {
+        return maximum;
+    }
+
+    @Override
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
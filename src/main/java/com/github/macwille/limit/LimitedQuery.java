@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.limit;
+
+import com.github.macwille.queries.CallableQuery;
+import org.jooq.Record;
+import org.jooq.Result;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the query within the concurrency limit and reports its latency and outcome back to the limit. With connection
+ * permits the latency is measured once the permit is held, so waiting for a connection does not count as slowness.
+ */
+public final class LimitedQuery implements CallableQuery {
+
+    private final ConcurrencyLimit limit;
+    private final Semaphore permits;
+    private final CallableQuery query;
+
+    public LimitedQuery(final ConcurrencyLimit limit, final CallableQuery query) {
+        this(limit, new Semaphore(Integer.MAX_VALUE), query);
+    }
+
+    public LimitedQuery(final ConcurrencyLimit limit, final Semaphore permits, final CallableQuery query) {
+        this.limit = limit;
+        this.permits = permits;
+        this.query = query;
+    }
+
+    @Override
+    public Result<Record> call() throws Exception {
+        limit.acquire();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            permits.acquire();
+            try {
+                start = System.nanoTime();
+                final Result<Record> result = query.call();
+                failed = false;
+                return result;
+            }
+            finally {
+                permits.release();
+            }
+        }
+        finally {
+            limit.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        query.cancel();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps histograms and counters in memory so they can be scraped by a monitoring system.
+ */
+public final class InMemoryQueryMetrics implements QueryMetrics {
+
+    private final LatencyHistogram queueWait;
+    private final LatencyHistogram acquisition;
+    private final LatencyHistogram execution;
+    private final LatencyHistogram fetch;
+    private final LatencyHistogram wallTime;
+    private final LongAdder rows;
+    private final LongAdder bytes;
+    private final LongAdder busyNanos;
+    private final LongAdder capacityNanos;
+    private final boolean resultBytes;
+
+    public InMemoryQueryMetrics() {
+        this(false);
+    }
+
+    /**
+     * With result bytes every result is walked to estimate its size.
+     */
+    public InMemoryQueryMetrics(final boolean resultBytes) {
+        this.queueWait = new LatencyHistogram();
+        this.acquisition = new LatencyHistogram();
+        this.execution = new LatencyHistogram();
+        this.fetch = new LatencyHistogram();
+        this.wallTime = new LatencyHistogram();
+        this.rows = new LongAdder();
+        this.bytes = new LongAdder();
+        this.busyNanos = new LongAdder();
+        this.capacityNanos = new LongAdder();
+        this.resultBytes = resultBytes;
+    }
+
+    @Override
+    public boolean resultBytes() {
+        return resultBytes;
+    }
+
+    @Override
+    public void query(
+            final long queueNanos,
+            final long acquireNanos,
+            final long executeNanos,
+            final long fetchNanos,
+            final int rows,
+            final long bytes
+    ) {
+        queueWait.record(queueNanos);
+        acquisition.record(acquireNanos);
+        execution.record(executeNanos);
+        fetch.record(fetchNanos);
+        this.rows.add(rows);
+        this.bytes.add(bytes);
+    }
+
+    @Override
+    public void run(final int queries, final long wallNanos, final long busyNanos, final int capacity) {
+        wallTime.record(wallNanos);
+        this.busyNanos.add(busyNanos);
+        capacityNanos.add(wallNanos * capacity);
+    }
+
+    public LatencyHistogram queueWait() {
+        return queueWait;
+    }
+
+    public LatencyHistogram acquisition() {
+        return acquisition;
+    }
+
+    public LatencyHistogram execution() {
+        return execution;
+    }
+
+    public LatencyHistogram fetch() {
+        return fetch;
+    }
+
+    public LatencyHistogram wallTime() {
+        return wallTime;
+    }
+
+    public long rows() {
+        return rows.sum();
+    }
+
+    public long bytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * Share of the available connection time spent running queries, between 0 and 1.
+     */
+    public double utilization() {
+        final long capacity = capacityNanos.sum();
+        return capacity == 0 ? 0 : (double) busyNanos.sum() / capacity;
+    }
+}
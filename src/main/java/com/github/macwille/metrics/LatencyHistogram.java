@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram in the style of HdrHistogram, every power of two is split into 32 buckets which keeps the
+ * relative error of a reported value under about 3%. Recording is lock-free and allocates nothing.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray buckets;
+    private final AtomicLong count;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(SUB_BUCKETS + (64 - SUB_BUCKET_BITS) * SUB_BUCKETS);
+        this.count = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    public void record(final long value) {
+        final long positive = Math.max(0, value);
+        buckets.incrementAndGet(index(positive));
+        count.incrementAndGet();
+        max.accumulateAndGet(positive, Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Highest value of the bucket holding the given percentile, between 0 and 100.
+     */
+    public long percentile(final double percentile) {
+        final long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= target) {
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private long highestValue(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        final long sub = SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+import java.util.concurrent.Callable;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Samples the timings of one call of any query shape, the rows and bytes are read from what the call returns.
+ */
+final class MeasuredCall<T> implements Callable<T> {
+
+    private final MeasuredRun run;
+    private final QueryMetrics metrics;
+    private final QuerySamples samples;
+    private final Callable<T> call;
+    private final ToIntFunction<T> rows;
+    private final ToLongFunction<T> bytes;
+
+    MeasuredCall(
+            final MeasuredRun run,
+            final QueryMetrics metrics,
+            final QuerySamples samples,
+            final Callable<T> call,
+            final ToIntFunction<T> rows,
+            final ToLongFunction<T> bytes
+    ) {
+        this.run = run;
+        this.metrics = metrics;
+        this.samples = samples;
+        this.call = call;
+        this.rows = rows;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Queue wait lasts from the start of the run until the query asks the pool for a connection, so it includes the
+     * wait for a connection permit. Busy time starts there.
+     */
+    @Override
+    public T call() throws Exception {
+        final long started = System.nanoTime();
+        final QuerySample sample = samples.open();
+        try {
+            final T result = call.call();
+            metrics
+                    .query(
+                            sample.acquireStarted(started) - run.started(),
+                            sample.acquireNanos(),
+                            sample.executeNanos(),
+                            sample.fetchNanos(),
+                            rows.applyAsInt(result),
+                            metrics.resultBytes() ? bytes.applyAsLong(result) : 0
+                    );
+            return result;
+        }
+        finally {
+            run.busy(System.nanoTime() - sample.acquireStarted(started));
+            samples.close(sample);
+        }
+    }
+}
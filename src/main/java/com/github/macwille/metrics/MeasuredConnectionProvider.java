@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+import org.jooq.ConnectionProvider;
+import org.jooq.exception.DataAccessException;
+
+import java.sql.Connection;
+
+public final class MeasuredConnectionProvider implements ConnectionProvider {
+
+    private final ConnectionProvider connectionProvider;
+    private final QuerySamples samples;
+
+    public MeasuredConnectionProvider(final ConnectionProvider connectionProvider, final QuerySamples samples) {
+        this.connectionProvider = connectionProvider;
+        this.samples = samples;
+    }
+
+    @Override
+    public Connection acquire() throws DataAccessException {
+        final QuerySample sample = samples.current();
+        if (sample == null) {
+            return connectionProvider.acquire();
+        }
+        final long started = System.nanoTime();
+        final Connection connection = connectionProvider.acquire();
+        sample.acquired(started, System.nanoTime() - started);
+        return connection;
+    }
+
+    @Override
+    public void release(final Connection connection) throws DataAccessException {
+        connectionProvider.release(connection);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+import com.github.macwille.cache.ResultSize;
+import com.github.macwille.queries.CallableQuery;
+import org.jooq.Record;
+import org.jooq.Result;
+
+/**
+ * Measured query, its measured call is built once so that calling the query allocates no wrapper.
+ */
+public final class MeasuredQuery implements CallableQuery {
+
+    private final CallableQuery query;
+    private final MeasuredCall<Result<Record>> call;
+
+    MeasuredQuery(
+            final MeasuredRun run,
+            final QueryMetrics metrics,
+            final QuerySamples samples,
+            final CallableQuery query
+    ) {
+        this.query = query;
+        this.call = new MeasuredCall<>(run, metrics, samples, query, Result::size, MeasuredQuery::bytes);
+    }
+
+    @Override
+    public Result<Record> call() throws Exception {
+        return call.call();
+    }
+
+    @Override
+    public void cancel() {
+        query.cancel();
+    }
+
+    private static long bytes(final Result<Record> result) {
+        return new ResultSize(result).bytes();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+import com.github.macwille.queries.CallableQuery;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * One execution of a query list, queue wait of its queries is measured from the start of the run.
+ */
+public final class MeasuredRun {
+
+    private final QueryMetrics metrics;
+    private final QuerySamples samples;
+    private final int capacity;
+    private final long started;
+    private final LongAdder busyNanos;
+    private final AtomicInteger queries;
+
+    public MeasuredRun(final QueryMetrics metrics, final QuerySamples samples, final int capacity) {
+        this.metrics = metrics;
+        this.samples = samples;
+        this.capacity = capacity;
+        this.started = System.nanoTime();
+        this.busyNanos = new LongAdder();
+        this.queries = new AtomicInteger();
+    }
+
+    public CallableQuery measured(final CallableQuery query) {
+        queries.incrementAndGet();
+        if (!metrics.enabled()) {
+            return query;
+        }
+        return new MeasuredQuery(this, metrics, samples, query);
+    }
+
+    /**
+     * Measures a call that returns another result shape than records, such as a columnar result.
+     */
+    public <T> Callable<T> measured(
+            final Callable<T> call,
+            final ToIntFunction<T> rows,
+            final ToLongFunction<T> bytes
+    ) {
+        queries.incrementAndGet();
+        if (!metrics.enabled()) {
+            return call;
+        }
+        return new MeasuredCall<>(this, metrics, samples, call, rows, bytes);
+    }
+
+    public void finish() {
+        metrics.run(queries.get(), System.nanoTime() - started, busyNanos.sum(), capacity);
+    }
+
+    long started() {
+        return started;
+    }
+
+    void busy(final long nanos) {
+        busyNanos.add(nanos);
+    }
+}
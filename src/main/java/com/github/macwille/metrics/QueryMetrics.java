@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+/**
+ * Receives the timings of every executed query and run. Implementations are called from the worker threads and
+ * should not allocate or block. Measuring wraps every query once, its timings go to a sample reused by each thread.
+ * <p>
+ * Queries that deliver their rows to a consumer, {@code stream} and {@code publisher} of the engine, and the DML
+ * batches of {@code update} are not measured, their timings would include the consumer or are no query timings.
+ */
+public interface QueryMetrics {
+
+    void query(long queueNanos, long acquireNanos, long executeNanos, long fetchNanos, int rows, long bytes);
+
+    void run(int queries, long wallNanos, long busyNanos, int capacity);
+
+    /**
+     * Whether the result bytes are estimated. The estimate walks every value of the result, so it is off unless asked
+     * for and the bytes are reported as 0.
+     */
+    default boolean resultBytes() {
+        return false;
+    }
+
+    /**
+     * Queries are not measured at all when the metrics are disabled.
+     */
+    default boolean enabled() {
+        return true;
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+/**
+ * Timings of the measured query running on a thread, reset when the next query on the thread opens it. Only used by
+ * its own thread.
+ */
+final class QuerySample {
+
+    private boolean opened;
+    private long acquireStarted;
+    private long acquireNanos;
+    private long executeStarted;
+    private long executeNanos;
+    private long fetchStarted;
+    private long fetchNanos;
+
+    /**
+     * Resets the timings for a new query, false when the sample is already open for another query.
+     */
+    boolean open() {
+        if (opened) {
+            return false;
+        }
+        opened = true;
+        acquireStarted = 0;
+        acquireNanos = 0;
+        executeStarted = 0;
+        executeNanos = 0;
+        fetchStarted = 0;
+        fetchNanos = 0;
+        return true;
+    }
+
+    void close() {
+        opened = false;
+    }
+
+    boolean opened() {
+        return opened;
+    }
+
+    void acquired(final long started, final long nanos) {
+        if (acquireStarted == 0) {
+            acquireStarted = started;
+        }
+        acquireNanos += nanos;
+    }
+
+    /**
+     * When the query first asked the pool for a connection, the fallback when it never did.
+     */
+    long acquireStarted(final long fallback) {
+        return acquireStarted == 0 ? fallback : acquireStarted;
+    }
+
+    void executeStarted() {
+        executeStarted = System.nanoTime();
+    }
+
+    void executeEnded() {
+        executeNanos += System.nanoTime() - executeStarted;
+    }
+
+    void fetchStarted() {
+        fetchStarted = System.nanoTime();
+    }
+
+    void fetchEnded() {
+        fetchNanos += System.nanoTime() - fetchStarted;
+    }
+
+    long acquireNanos() {
+        return acquireNanos;
+    }
+
+    long executeNanos() {
+        return executeNanos;
+    }
+
+    long fetchNanos() {
+        return fetchNanos;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+/**
+ * Connects the jOOQ listener and connection provider to the measured query running on the same thread. Every thread
+ * has one sample slot that is reused by each measured query it runs, and the slot is open only while its query runs,
+ * so threads without a measured query record nothing.
+ */
+public final class QuerySamples {
+
+    private final ThreadLocal<QuerySample> samples;
+
+    public QuerySamples() {
+        this.samples = ThreadLocal.withInitial(QuerySample::new);
+    }
+
+    /**
+     * Opens the sample slot of the current thread. A query measured inside another measured query on the same thread
+     * gets a sample of its own that only times the whole query.
+     */
+    QuerySample open() {
+        final QuerySample sample = samples.get();
+        if (sample.open()) {
+            return sample;
+        }
+        return new QuerySample();
+    }
+
+    void close(final QuerySample sample) {
+        sample.close();
+    }
+
+    /**
+     * Sample of the measured query running on the current thread, null when there is none.
+     */
+    QuerySample current() {
+        final QuerySample sample = samples.get();
+        return sample.opened() ? sample : null;
+    }
+}
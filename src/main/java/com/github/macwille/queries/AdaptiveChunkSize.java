@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+/**
+ * Picks how many queries a worker runs back to back on one connection. The size aims for chunks that take about the
+ * target time, estimated from a moving average of the observed query duration, so checkout overhead is paid once per
+ * chunk while the remaining queries are still spread over all workers.
+ */
+public final class AdaptiveChunkSize {
+
+    private final long targetNanos;
+    private final int maximum;
+    private final int initial;
+    private double averageNanos;
+
+    public AdaptiveChunkSize() {
+        this(5_000_000L, 256);
+    }
+
+    public AdaptiveChunkSize(final long targetNanos, final int maximum) {
+        this(targetNanos, maximum, Math.min(4, maximum));
+    }
+
+    public AdaptiveChunkSize(final long targetNanos, final int maximum, final int initial) {
+        this.targetNanos = targetNanos;
+        this.maximum = maximum;
+        this.initial = initial;
+        this.averageNanos = 0;
+    }
+
+    public synchronized int next(final int remaining, final int workers) {
+        final long size = averageNanos > 0 ? Math.round(targetNanos / averageNanos) : initial;
+        final int share = (remaining + workers - 1) / workers;
+        return (int) Math.max(1, Math.min(Math.min(size, maximum), share));
+    }
+
+    public synchronized void record(final int queries, final long nanos) {
+        final double perQuery = (double) nanos / Math.max(1, queries);
+        averageNanos = averageNanos > 0 ? averageNanos * 0.8 + perQuery * 0.2 : perQuery;
+    }
+
+    public synchronized long averageNanos() {
+        return Math.round(averageNanos);
+    }
+}
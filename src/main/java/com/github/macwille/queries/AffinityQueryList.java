@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.github.macwille.ThreadRuntimeException;
+import org.jooq.Configuration;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs many small queries with one worker per connection permit. Each worker borrows a connection, runs a chunk of
+ * queries back to back on it and returns it, the chunk size is taken from an {@link AdaptiveChunkSize}. Meant for
+ * thousands of short lookups where checking out a connection per query costs more than the query itself.
+ */
+public final class AffinityQueryList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AffinityQueryList.class);
+
+    private final Configuration configuration;
+    private final List<String> sqlList;
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final int workers;
+    private final AdaptiveChunkSize chunkSize;
+    private final UnaryOperator<CallableQuery> decorator;
+
+    public AffinityQueryList(
+            final Configuration configuration,
+            final List<String> sqlList,
+            final ExecutorService executorService,
+            final Semaphore permits,
+            final int workers,
+            final AdaptiveChunkSize chunkSize
+    ) {
+        this(configuration, sqlList, executorService, permits, workers, chunkSize, UnaryOperator.identity());
+    }
+
+    /**
+     * Every query of a chunk is wrapped by the decorator before it runs on the borrowed connection.
+     */
+    public AffinityQueryList(
+            final Configuration configuration,
+            final List<String> sqlList,
+            final ExecutorService executorService,
+            final Semaphore permits,
+            final int workers,
+            final AdaptiveChunkSize chunkSize,
+            final UnaryOperator<CallableQuery> decorator
+    ) {
+        this.configuration = configuration;
+        this.sqlList = sqlList;
+        this.executorService = executorService;
+        this.permits = permits;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.decorator = decorator;
+    }
+
+    /**
+     * Fails fast, the first failing query cancels the statements of the queries other workers are running. Returns
+     * once every worker has given back its connection.
+     */
+    public List<Result<Record>> resultList() {
+        final int count = Math.max(1, Math.min(workers, sqlList.size()));
+        LOGGER.debug("Executing <{}> queries in chunks on <{}> workers", sqlList.size(), count);
+        final List<Result<Record>> results = new ArrayList<>(Collections.nCopies(sqlList.size(), null));
+        final AtomicInteger cursor = new AtomicInteger();
+        final AtomicBoolean failed = new AtomicBoolean(false);
+        final Set<CallableQuery> running = ConcurrentHashMap.newKeySet();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Future<?>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(executorService.submit(() -> {
+                try {
+                    work(results, cursor, failed, running, count);
+                }
+                catch (final RuntimeException | InterruptedException e) {
+                    // the first failure wins, the queries it cancels fail after it
+                    failure.compareAndSet(null, e);
+                    cancel(failed, running);
+                    throw e;
+                }
+                return null;
+            }));
+        }
+
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            }
+            catch (final ExecutionException e) {
+                LOGGER.trace("Chunk worker failed: {}", e.getCause().getMessage());
+            }
+            catch (final CancellationException e) {
+                LOGGER.trace("Chunk worker was cancelled before it started");
+            }
+            catch (final InterruptedException e) {
+                cancel(failed, running);
+                for (final Future<?> other : futures) {
+                    other.cancel(false);
+                }
+                Thread.currentThread().interrupt();
+                throw new ThreadRuntimeException("Interrupted executing chunked queries", e);
+            }
+        }
+        if (failure.get() != null) {
+            throw new ThreadRuntimeException(
+                    "Error executing chunked queries: " + failure.get().getMessage(),
+                    failure.get()
+            );
+        }
+        return results;
+    }
+
+    private void work(
+            final List<Result<Record>> results,
+            final AtomicInteger cursor,
+            final AtomicBoolean failed,
+            final Set<CallableQuery> running,
+            final int count
+    ) throws InterruptedException {
+        while (!failed.get()) {
+            final int size = chunkSize.next(Math.max(1, sqlList.size() - cursor.get()), count);
+            final int start = cursor.getAndAdd(size);
+            if (start >= sqlList.size()) {
+                return;
+            }
+            final int end = Math.min(start + size, sqlList.size());
+            permits.acquire();
+            try {
+                DSL.using(configuration).connection(connection -> {
+                    final Configuration chunk = configuration.derive(connection);
+                    final long started = System.nanoTime();
+                    for (int i = start; i < end && !failed.get(); i++) {
+                        final CallableQuery query = decorator.apply(new CallableQueryImpl(chunk, sqlList.get(i)));
+                        running.add(query);
+                        try {
+                            // registered before checking, so a failure either cancels the query or is seen here
+                            if (failed.get()) {
+                                return;
+                            }
+                            results.set(i, query.call());
+                        }
+                        finally {
+                            running.remove(query);
+                        }
+                    }
+                    chunkSize.record(end - start, System.nanoTime() - started);
+                });
+            }
+            catch (final DataAccessException e) {
+                throw new ThreadRuntimeException("Error fetching chunk of queries <" + start + "> to <" + end + ">", e);
+            }
+            finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void cancel(final AtomicBoolean failed, final Set<CallableQuery> running) {
+        failed.set(true);
+        for (final CallableQuery query : running) {
+            query.cancel();
+        }
+    }
+}
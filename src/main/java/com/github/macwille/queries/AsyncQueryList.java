@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import org.jooq.Record;
+import org.jooq.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Starts every query on the executor without waiting for it. Cancelling the future of a query cancels its running
+ * statement as well.
+ */
+public final class AsyncQueryList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncQueryList.class);
+
+    private final List<CallableQuery> queryList;
+    private final Executor executor;
+
+    public AsyncQueryList(final List<CallableQuery> queryList, final Executor executor) {
+        this.queryList = queryList;
+        this.executor = executor;
+    }
+
+    public List<CompletableFuture<Result<Record>>> futures() {
+        LOGGER.debug("Starting <{}> queries", queryList.size());
+        final List<CompletableFuture<Result<Record>>> futures = new ArrayList<>(queryList.size());
+        for (final CallableQuery query : queryList) {
+            final CompletableFuture<Result<Record>> future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return query.call();
+                }
+                catch (final RuntimeException e) {
+                    throw e;
+                }
+                catch (final Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+            future.whenComplete((result, error) -> {
+                if (error instanceof CancellationException) {
+                    query.cancel();
+                }
+            });
+            futures.add(future);
+        }
+        return futures;
+    }
+
+    /**
+     * Completes with all results in query order, or exceptionally as soon as the first query fails, in which case the
+     * remaining queries are cancelled.
+     */
+    public CompletableFuture<List<Result<Record>>> all() {
+        final List<CompletableFuture<Result<Record>>> futures = futures();
+        final CompletableFuture<List<Result<Record>>> all = new CompletableFuture<>();
+        for (final CompletableFuture<Result<Record>> future : futures) {
+            future.whenComplete((result, error) -> {
+                if (error != null && all.completeExceptionally(error)) {
+                    for (final CompletableFuture<Result<Record>> other : futures) {
+                        other.cancel(true);
+                    }
+                }
+            });
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+            final List<Result<Record>> results = new ArrayList<>(futures.size());
+            for (final CompletableFuture<Result<Record>> future : futures) {
+                results.add(future.join());
+            }
+            all.complete(results);
+        });
+        return all;
+    }
+}
@@ -32,4 +32,10 @@ public interface CallableQuery extends Callable<Result<Record>> {
 
     Result<Record> call() throws Exception;
 
+    /**
+     * Cancels the statement of the running query, does nothing when the query is not running.
+     */
+    default void cancel() {
+    }
+
 }
@@ -24,6 +24,7 @@
 package com.github.macwille.queries;
 
 import com.github.macwille.ThreadRuntimeException;
+import org.jooq.Configuration;
 import org.jooq.DSLContext;
 import org.jooq.Result;
 import org.jooq.SQLDialect;
@@ -37,6 +38,7 @@ public final class CallableQueryImpl implements CallableQuery {
 
     private final DSLContext ctx;
     private final String query;
+    private final RunningStatement statement;
 
     public CallableQueryImpl(final DataSource dataSource, final String query) {
         this(DSL.using(new DefaultConfiguration().derive(dataSource).derive(SQLDialect.MYSQL)), query);
@@ -46,22 +48,31 @@ public final class CallableQueryImpl implements CallableQuery {
         this(DSL.using(new DefaultConfiguration().derive(dataSource).derive(dialect)), query);
     }
 
+    public CallableQueryImpl(final Configuration configuration, final String query) {
+        this(DSL.using(configuration), query);
+    }
+
     public CallableQueryImpl(final DSLContext ctx, final String query) {
         this.ctx = ctx;
         this.query = query;
+        this.statement = new RunningStatement();
     }
 
     @Override
     public Result<org.jooq.Record> call() {
         Result<org.jooq.Record> result;
         try {
-            result = ctx.fetch(query);
+            result = statement.fetch(ctx.resultQuery(query));
         }
         catch (DataAccessException e) {
-            Thread.currentThread().interrupt();
             throw new ThreadRuntimeException("Error fetching record", e);
         }
 
         return result;
     }
+
+    @Override
+    public void cancel() {
+        statement.cancel();
+    }
 }
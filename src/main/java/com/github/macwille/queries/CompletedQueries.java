@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.github.macwille.ThreadRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Hands out each result as soon as its query has finished, tagged with the index of the query in the input list. The
+ * queries are submitted on the first call to {@link #hasNext()} or {@link #next()}. The finished callback runs once,
+ * after the last result was taken or the first query failed.
+ */
+public final class CompletedQueries implements Iterator<IndexedResult> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompletedQueries.class);
+
+    private final List<CallableQuery> queryList;
+    private final CompletionService<IndexedResult> completionService;
+    private final List<Future<IndexedResult>> futures;
+    private final Runnable finished;
+    private int taken;
+    private boolean done;
+
+    public CompletedQueries(final List<CallableQuery> queryList, final ExecutorService executorService) {
+        this(queryList, executorService, () -> {
+        });
+    }
+
+    public CompletedQueries(
+            final List<CallableQuery> queryList,
+            final ExecutorService executorService,
+            final Runnable finished
+    ) {
+        this.queryList = queryList;
+        this.completionService = new ExecutorCompletionService<>(executorService);
+        this.futures = new ArrayList<>(queryList.size());
+        this.finished = finished;
+        this.taken = 0;
+        this.done = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        submit();
+        return taken < queryList.size();
+    }
+
+    @Override
+    public IndexedResult next() throws NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("All <" + queryList.size() + "> results have been taken");
+        }
+
+        try {
+            final IndexedResult result = completionService.take().get();
+            taken++;
+            if (taken == queryList.size()) {
+                finish();
+            }
+            return result;
+        }
+        catch (final ExecutionException e) {
+            finish();
+            cancel();
+            throw new ThreadRuntimeException("Query failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        catch (final InterruptedException e) {
+            finish();
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new ThreadRuntimeException("Interrupted waiting for the next result", e);
+        }
+    }
+
+    private void cancel() {
+        for (int i = 0; i < futures.size(); i++) {
+            if (futures.get(i).cancel(true)) {
+                queryList.get(i).cancel();
+            }
+        }
+    }
+
+    private void finish() {
+        if (!done) {
+            done = true;
+            finished.run();
+        }
+    }
+
+    private void submit() {
+        if (futures.isEmpty() && !queryList.isEmpty()) {
+            LOGGER.debug("Submitting <{}> queries", queryList.size());
+            for (int i = 0; i < queryList.size(); i++) {
+                final int index = i;
+                final CallableQuery query = queryList.get(i);
+                futures.add(completionService.submit(() -> new IndexedResult(index, query.call())));
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.github.macwille.ThreadRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+
+/**
+ * Fans the calls out to the executor and collects their values in input order. The first call to fail, or the
+ * deadline passing, cancels the others through their cancel hook, waits until the ones already running have returned
+ * and rethrows the cause, the caller is only interrupted again when it was interrupted while waiting.
+ */
+public final class ParallelCalls<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelCalls.class);
+    private static final Duration NO_DEADLINE = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final List<? extends Callable<T>> calls;
+    private final IntConsumer cancel;
+    private final ExecutorService executorService;
+    private final Duration deadline;
+
+    /**
+     * Calls without a cancel hook are only interrupted when another one fails.
+     */
+    public ParallelCalls(final List<? extends Callable<T>> calls, final ExecutorService executorService) {
+        this(calls, index -> {
+        }, executorService);
+    }
+
+    /**
+     * The cancel hook receives the index of a call to stop, for example to cancel its running statement.
+     */
+    public ParallelCalls(
+            final List<? extends Callable<T>> calls,
+            final IntConsumer cancel,
+            final ExecutorService executorService
+    ) {
+        this(calls, cancel, executorService, NO_DEADLINE);
+    }
+
+    public ParallelCalls(
+            final List<? extends Callable<T>> calls,
+            final IntConsumer cancel,
+            final ExecutorService executorService,
+            final Duration deadline
+    ) {
+        this.calls = calls;
+        this.cancel = cancel;
+        this.executorService = executorService;
+        this.deadline = deadline;
+    }
+
+    public List<T> values() {
+        final CompletionService<T> completionService = new ExecutorCompletionService<>(executorService);
+        final AtomicBoolean[] claimed = new AtomicBoolean[calls.size()];
+        final CountDownLatch finished = new CountDownLatch(calls.size());
+        final Map<Future<T>, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < calls.size(); i++) {
+            final Callable<T> call = calls.get(i);
+            final AtomicBoolean started = new AtomicBoolean();
+            claimed[i] = started;
+            indexes.put(completionService.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    throw new CancellationException("Call was cancelled before it started");
+                }
+                try {
+                    return call.call();
+                }
+                finally {
+                    finished.countDown();
+                }
+            }), i);
+        }
+
+        final List<T> values = new ArrayList<>(Collections.nCopies(calls.size(), null));
+        final long deadlineAt = System.nanoTime() + deadline.toNanos();
+        for (int completed = 0; completed < calls.size(); completed++) {
+            Future<T> future = null;
+            try {
+                future = completionService.poll(deadlineAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    LOGGER.debug("Deadline of <{}> passed, cancelling the running calls", deadline);
+                    cancel(indexes, claimed, finished);
+                    throw new ThreadRuntimeException(
+                            "Deadline of <" + deadline + "> passed before <" + (calls.size() - completed)
+                                    + "> calls finished",
+                            new TimeoutException("Deadline of <" + deadline + "> passed")
+                    );
+                }
+                values.set(indexes.get(future), future.get());
+            }
+            catch (final ExecutionException e) {
+                LOGGER.debug("Call <{}> failed, cancelling the others", indexes.get(future));
+                cancel(indexes, claimed, finished);
+                throw new ThreadRuntimeException(
+                        "Call <" + indexes.get(future) + "> failed: " + e.getCause().getMessage(),
+                        e.getCause()
+                );
+            }
+            catch (final InterruptedException e) {
+                cancel(indexes, claimed, finished);
+                Thread.currentThread().interrupt();
+                throw new ThreadRuntimeException("Interrupted waiting for <" + calls.size() + "> calls", e);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Calls that have not started are claimed so they never run, the running ones are cancelled and waited for, so no
+     * call still holds a connection or writes its result once this returns.
+     */
+    private void cancel(
+            final Map<Future<T>, Integer> indexes,
+            final AtomicBoolean[] claimed,
+            final CountDownLatch finished
+    ) {
+        for (final Map.Entry<Future<T>, Integer> entry : indexes.entrySet()) {
+            final int index = entry.getValue();
+            if (claimed[index].compareAndSet(false, true)) {
+                finished.countDown();
+            }
+            else if (!entry.getKey().isDone()) {
+                cancel.accept(index);
+            }
+            entry.getKey().cancel(true);
+        }
+        boolean interrupted = Thread.interrupted();
+        while (finished.getCount() > 0) {
+            try {
+                finished.await();
+            }
+            catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
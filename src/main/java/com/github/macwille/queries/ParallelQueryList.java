@@ -29,63 +29,250 @@ import org.jooq.Result;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public final class ParallelQueryList {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ParallelQueryList.class);
+    private static final Duration NO_DEADLINE = Duration.ofNanos(Long.MAX_VALUE);
 
     private final QueriesToBatches queryList;
-    private final int threads;
+    private final ExecutorService executorService;
+    private final boolean ownsExecutor;
+    private final Duration deadline;
 
     public ParallelQueryList(final List<CallableQuery> queryList) {
-        this(new QueriesToBatches(new LinkedList<>(queryList), 4), 4);
+        this(queryList, 4);
     }
 
+    /**
+     * Submits every query to one shared work queue, so a worker picks up the next query as soon as it is free
+     * instead of waiting for the slowest query of a batch. Results are returned in input order.
+     */
     public ParallelQueryList(final List<CallableQuery> queryList, final int threads) {
-        this(new QueriesToBatches(new LinkedList<>(queryList), threads), threads);
+        this(new QueriesToBatches(new LinkedList<>(queryList), queryList.size()), threads);
     }
 
+    /**
+     * Executes the queries batch by batch, the next batch starts only after every query of the previous one has
+     * finished.
+     */
     public ParallelQueryList(final QueriesToBatches queryList, final int threads) {
+        this(queryList, Executors.newFixedThreadPool(threads), true, NO_DEADLINE);
+    }
+
+    /**
+     * Runs the queries on a shared work queue of an executor owned by the caller, the executor is left running.
+     */
+    public ParallelQueryList(final List<CallableQuery> queryList, final ExecutorService executorService) {
+        this(queryList, executorService, NO_DEADLINE);
+    }
+
+    /**
+     * Queries still running when the deadline passes have their statements cancelled.
+     */
+    public ParallelQueryList(
+            final List<CallableQuery> queryList,
+            final ExecutorService executorService,
+            final Duration deadline
+    ) {
+        this(new QueriesToBatches(new LinkedList<>(queryList), queryList.size()), executorService, false, deadline);
+    }
+
+    private ParallelQueryList(
+            final QueriesToBatches queryList,
+            final ExecutorService executorService,
+            final boolean ownsExecutor,
+            final Duration deadline
+    ) {
         this.queryList = queryList;
-        this.threads = threads;
+        this.executorService = executorService;
+        this.ownsExecutor = ownsExecutor;
+        this.deadline = deadline;
     }
 
+    /**
+     * Fails fast, the first failing query cancels the statements of every other query still running.
+     */
     public List<Result<Record>> resultList() {
+        final List<QueryOutcome> outcomes = run(true);
+        final List<Result<Record>> resultList = new ArrayList<>(outcomes.size());
+        for (final QueryOutcome outcome : outcomes) {
+            if (outcome.status() != QueryStatus.SUCCEEDED) {
+                final QueryOutcome failure = failure(outcomes);
+                throw new ThreadRuntimeException(
+                        "Query <" + failure.index() + "> " + failure.status() + " executing queries",
+                        failure.error().orElseThrow()
+                );
+            }
+            resultList.add(outcome.result().orElseThrow());
+        }
+        return resultList;
+    }
 
-        final List<Result<Record>> resultList = new ArrayList<>();
+    /**
+     * Runs every query to completion or until the deadline, failures do not stop the other queries.
+     */
+    public List<QueryOutcome> outcomes() {
+        return run(false);
+    }
 
-        try (final ExecutorService executorService = Executors.newFixedThreadPool(threads)) {
+    private List<QueryOutcome> run(final boolean failFast) {
+        try {
+            return outcomeList(failFast);
+        }
+        finally {
+            if (ownsExecutor) {
+                executorService.close();
+            }
+        }
+    }
+
+    private List<QueryOutcome> outcomeList(final boolean failFast) {
+        final long deadlineAt = System.nanoTime() + deadline.toNanos();
+        final List<QueryOutcome> outcomes = new ArrayList<>();
+        QueryStatus stopped = QueryStatus.SUCCEEDED;
 
-            while (queryList.hasNext()) {
-                final List<CallableQuery> queryBatches = queryList.next();
+        while (queryList.hasNext()) {
+            final List<CallableQuery> queryBatches = queryList.next();
 
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Executing next batch with size <{}>", queryBatches.size());
+            if (stopped != QueryStatus.SUCCEEDED) {
+                for (int i = 0; i < queryBatches.size(); i++) {
+                    outcomes.add(new QueryOutcome(outcomes.size(), stopped, stopCause(stopped)));
                 }
+                continue;
+            }
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Executing next batch with size <{}>", queryBatches.size());
+            }
+            stopped = batch(queryBatches, deadlineAt, failFast, outcomes);
+        }
+
+        return outcomes;
+    }
+
+    private QueryStatus batch(
+            final List<CallableQuery> queryBatches,
+            final long deadlineAt,
+            final boolean failFast,
+            final List<QueryOutcome> outcomes
+    ) {
+        final int offset = outcomes.size();
+        final QueryOutcome[] batchOutcomes = new QueryOutcome[queryBatches.size()];
+        final CompletionService<Result<Record>> completionService = new ExecutorCompletionService<>(executorService);
+        final Map<Future<Result<Record>>, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < queryBatches.size(); i++) {
+            indexes.put(completionService.submit(queryBatches.get(i)), i);
+        }
+
+        QueryStatus stopped = QueryStatus.SUCCEEDED;
+        int completed = 0;
+        while (completed < queryBatches.size() && stopped == QueryStatus.SUCCEEDED) {
+            final Future<Result<Record>> future;
+            try {
+                future = completionService.poll(deadlineAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped = QueryStatus.CANCELLED;
+                break;
+            }
 
-                final List<Future<Result<Record>>> futureResults = executorService.invokeAll(queryBatches);
+            if (future == null) {
+                LOGGER.debug("Deadline of <{}> passed, cancelling running queries", deadline);
+                stopped = QueryStatus.TIMED_OUT;
+            }
+            else {
+                final int index = indexes.get(future);
+                batchOutcomes[index] = outcome(offset + index, future);
+                completed++;
+                if (failFast && batchOutcomes[index].status() != QueryStatus.SUCCEEDED) {
+                    LOGGER.debug("Query <{}> failed, cancelling running queries", offset + index);
+                    stopped = QueryStatus.CANCELLED;
+                }
+            }
+        }
 
-                for (final Future<Result<Record>> future : futureResults) {
-                    resultList.add(future.get());
+        for (final Map.Entry<Future<Result<Record>>, Integer> entry : indexes.entrySet()) {
+            final int index = entry.getValue();
+            if (batchOutcomes[index] == null) {
+                if (entry.getKey().cancel(true)) {
+                    queryBatches.get(index).cancel();
+                    batchOutcomes[index] = new QueryOutcome(offset + index, stopped, stopCause(stopped));
+                }
+                else {
+                    batchOutcomes[index] = outcome(offset + index, entry.getKey());
                 }
             }
         }
-        catch (final InterruptedException | ExecutionException e) {
+
+        outcomes.addAll(Arrays.asList(batchOutcomes));
+        return stopped;
+    }
+
+    private QueryOutcome outcome(final int index, final Future<Result<Record>> future) {
+        try {
+            return new QueryOutcome(index, future.get());
+        }
+        catch (final ExecutionException e) {
+            return new QueryOutcome(index, timedOut(e) ? QueryStatus.TIMED_OUT : QueryStatus.FAILED, e.getCause());
+        }
+        catch (final CancellationException e) {
+            return new QueryOutcome(index, QueryStatus.CANCELLED, e);
+        }
+        catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new ThreadRuntimeException(
-                    "Thread encountered exception executing queries and was interrupted: " + e.getMessage(),
-                    e
-            );
+            return new QueryOutcome(index, QueryStatus.CANCELLED, e);
         }
+    }
 
-        return resultList;
+    private boolean timedOut(final Throwable error) {
+        Throwable cause = error;
+        while (cause != null && !(cause instanceof SQLTimeoutException)) {
+            cause = cause.getCause();
+        }
+        return cause != null;
+    }
+
+    private Throwable stopCause(final QueryStatus stopped) {
+        final Throwable cause;
+        if (stopped == QueryStatus.TIMED_OUT) {
+            cause = new TimeoutException("Deadline of <" + deadline + "> passed before the query finished");
+        }
+        else {
+            cause = new CancellationException("Query was cancelled after another query failed");
+        }
+        return cause;
+    }
+
+    private QueryOutcome failure(final List<QueryOutcome> outcomes) {
+        QueryOutcome failure = outcomes.get(0);
+        for (final QueryOutcome outcome : outcomes) {
+            if (outcome.status() == QueryStatus.FAILED) {
+                return outcome;
+            }
+            if (failure.status() == QueryStatus.SUCCEEDED) {
+                failure = outcome;
+            }
+        }
+        return failure;
     }
 
 }
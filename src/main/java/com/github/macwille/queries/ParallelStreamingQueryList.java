@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import org.jooq.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Streams the rows of every query to one consumer, each row is handed over together with the index of its query. The
+ * consumer is called from the worker threads and has to be thread-safe.
+ */
+public final class ParallelStreamingQueryList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelStreamingQueryList.class);
+
+    private final List<StreamingQuery> queryList;
+    private final ExecutorService executorService;
+
+    public ParallelStreamingQueryList(final List<StreamingQuery> queryList, final ExecutorService executorService) {
+        this.queryList = queryList;
+        this.executorService = executorService;
+    }
+
+    public void forEach(final ObjIntConsumer<Record> consumer) {
+        LOGGER.debug("Streaming <{}> queries", queryList.size());
+        final List<Callable<Void>> calls = new ArrayList<>(queryList.size());
+        for (int i = 0; i < queryList.size(); i++) {
+            final int index = i;
+            final StreamingQuery query = queryList.get(i);
+            calls.add(() -> {
+                query.forEach(record -> consumer.accept(record, index));
+                return null;
+            });
+        }
+        new ParallelCalls<>(calls, index -> queryList.get(index).cancel(), executorService).values();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.github.macwille.ThreadRuntimeException;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+/**
+ * Query with {@code ?} placeholders executed as a prepared statement, the SQL text stays the same for every set of
+ * bind values so the driver and the database can reuse the parsed statement.
+ */
+public final class ParameterizedQuery implements CallableQuery {
+
+    private final DSLContext ctx;
+    private final String query;
+    private final Object[] bindings;
+    private final RunningStatement statement;
+
+    public ParameterizedQuery(final Configuration configuration, final String query, final Object... bindings) {
+        this(DSL.using(configuration), query, bindings);
+    }
+
+    public ParameterizedQuery(final DSLContext ctx, final String query, final Object... bindings) {
+        this.ctx = ctx;
+        this.query = query;
+        this.bindings = bindings;
+        this.statement = new RunningStatement();
+    }
+
+    @Override
+    public Result<Record> call() {
+        try {
+            return statement.fetch(ctx.resultQuery(query, bindings));
+        }
+        catch (final DataAccessException e) {
+            throw new ThreadRuntimeException("Error fetching record", e);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        statement.cancel();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import org.jooq.Asterisk;
+import org.jooq.Field;
+import org.jooq.QualifiedAsterisk;
+import org.jooq.SQLDialect;
+import org.jooq.Select;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+/**
+ * Splits one query into range-restricted sub-queries over a numeric or date column, so that the partitions can run in
+ * parallel on separate connections. The bounds only decide the stride: rows below the lower bound and rows with a null
+ * partition column go to the first partition and rows above the upper bound to the last, so no rows are lost. The
+ * ranges filter the result of the query, so the partition column must be in its select list, directly, by alias or
+ * through {@code *}, and the query cannot have an ORDER BY, LIMIT, FETCH or OFFSET of its own. Both are checked when
+ * the query can be parsed, otherwise the partition column is taken on trust.
+ */
+public final class PartitionedQuery {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedQuery.class);
+
+    private final String sql;
+    private final String column;
+    private final long lower;
+    private final long upper;
+    private final int partitions;
+    private final LongFunction<String> literal;
+
+    public PartitionedQuery(
+            final String sql,
+            final String column,
+            final long lower,
+            final long upper,
+            final int partitions
+    ) {
+        this(sql, column, lower, upper, partitions, String::valueOf);
+    }
+
+    public PartitionedQuery(
+            final String sql,
+            final String column,
+            final LocalDate lower,
+            final LocalDate upper,
+            final int partitions
+    ) {
+        this(
+                sql,
+                column,
+                lower.toEpochDay(),
+                upper.toEpochDay(),
+                partitions,
+                day -> "DATE '" + LocalDate.ofEpochDay(day) + "'"
+        );
+    }
+
+    private PartitionedQuery(
+            final String sql,
+            final String column,
+            final long lower,
+            final long upper,
+            final int partitions,
+            final LongFunction<String> literal
+    ) {
+        this.sql = sql;
+        this.column = column;
+        this.lower = lower;
+        this.upper = upper;
+        this.partitions = partitions;
+        this.literal = literal;
+    }
+
+    public List<String> sqlList() {
+        return sqlList(SQLDialect.DEFAULT);
+    }
+
+    /**
+     * Returns one query per partition, at most one partition per value between the bounds. The query is parsed in the
+     * dialect it is written in.
+     */
+    public List<String> sqlList(final SQLDialect dialect) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partition count must be positive, was <" + partitions + ">");
+        }
+        if (upper < lower) {
+            throw new IllegalArgumentException("Upper bound <" + upper + "> is below lower bound <" + lower + ">");
+        }
+        final Optional<Select<?>> select = parsed(dialect);
+        if (select.isPresent() && ordered(select.get())) {
+            throw new IllegalArgumentException(
+                    "Query <" + sql + "> has an ORDER BY, LIMIT, FETCH or OFFSET that its partitions cannot keep"
+            );
+        }
+        if (select.isPresent() && !selected(select.get())) {
+            throw new IllegalArgumentException(
+                    "Partition column <" + column + "> is not in the select list of <" + sql + ">"
+            );
+        }
+        final long range = Math.subtractExact(upper, lower);
+        final int count = (int) Math.max(1, Math.min(partitions, range));
+        if (count == 1) {
+            return List.of(sql);
+        }
+
+        final long stride = range / count;
+        final long remainder = range % count;
+        final List<String> sqlList = new ArrayList<>(count);
+        long from = lower;
+        for (int i = 0; i < count; i++) {
+            final long to = from + stride + (i < remainder ? 1 : 0);
+            final String condition;
+            if (i == 0) {
+                condition = column + " < " + literal.apply(to) + " OR " + column + " IS NULL";
+            }
+            else if (i == count - 1) {
+                condition = column + " >= " + literal.apply(from);
+            }
+            else {
+                condition = column + " >= " + literal.apply(from) + " AND " + column + " < " + literal.apply(to);
+            }
+            sqlList.add("SELECT * FROM (" + sql + ") partitioned WHERE " + condition);
+            from = to;
+        }
+        return sqlList;
+    }
+
+    private Optional<Select<?>> parsed(final SQLDialect dialect) {
+        try {
+            return Optional.of(DSL.using(dialect).parser().parseSelect(sql));
+        }
+        catch (final DataAccessException e) {
+            LOGGER.debug("Partitioning <{}> on trust, it could not be parsed: {}", sql, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean ordered(final Select<?> select) {
+        return !select.$orderBy().isEmpty() || select.$limit() != null || select.$offset() != null;
+    }
+
+    private boolean selected(final Select<?> select) {
+        for (final SelectFieldOrAsterisk selected : select.$select()) {
+            if (selected instanceof Asterisk || selected instanceof QualifiedAsterisk) {
+                return true;
+            }
+            if (selected instanceof Field<?> field && field.getName().equalsIgnoreCase(column)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
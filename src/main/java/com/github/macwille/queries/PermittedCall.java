@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.github.macwille.ThreadRuntimeException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Waits for a permit before making the call and holds it until the call returns, so only as many calls as there are
+ * permits ask for a connection at the same time. The permit decorators of queries, batches and streams delegate here.
+ */
+public final class PermittedCall<T> implements Callable<T> {
+
+    private final Semaphore permits;
+    private final Callable<T> call;
+
+    public PermittedCall(final Semaphore permits, final Callable<T> call) {
+        this.permits = permits;
+        this.call = call;
+    }
+
+    @Override
+    public T call() throws Exception {
+        permits.acquire();
+        try {
+            return call.call();
+        }
+        finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Same as {@link #call()} for callers that cannot throw checked exceptions, an interrupt is restored before it is
+     * rethrown.
+     */
+    public T value() {
+        try {
+            return call();
+        }
+        catch (final RuntimeException e) {
+            throw e;
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ThreadRuntimeException("Interrupted waiting for a connection permit", e);
+        }
+        catch (final Exception e) {
+            throw new ThreadRuntimeException("Permitted call failed: " + e.getMessage(), e);
+        }
+    }
+}
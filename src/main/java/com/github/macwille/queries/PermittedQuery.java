@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import org.jooq.Record;
+import org.jooq.Result;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Waits for a permit before running the query, so only as many queries as there are permits ask for a connection at
+ * the same time.
+ */
+public final class PermittedQuery implements CallableQuery {
+
+    private final Semaphore permits;
+    private final CallableQuery query;
+
+    public PermittedQuery(final Semaphore permits, final CallableQuery query) {
+        this.permits = permits;
+        this.query = query;
+    }
+
+    @Override
+    public Result<Record> call() throws Exception {
+        return new PermittedCall<>(permits, query).call();
+    }
+
+    @Override
+    public void cancel() {
+        query.cancel();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.github.macwille.ThreadRuntimeException;
+import org.jooq.Record;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public final class PermittedStreamingQuery implements StreamingQuery {
+
+    private final Semaphore permits;
+    private final StreamingQuery query;
+
+    public PermittedStreamingQuery(final Semaphore permits, final StreamingQuery query) {
+        this.permits = permits;
+        this.query = query;
+    }
+
+    @Override
+    public void forEach(final Consumer<Record> consumer) {
+        new PermittedCall<Void>(permits, () -> {
+            query.forEach(consumer);
+            return null;
+        }).value();
+    }
+
+    /**
+     * The permit is held until the stream is closed.
+     */
+    @Override
+    public Stream<Record> stream() {
+        acquire();
+        try {
+            return query.stream().onClose(permits::release);
+        }
+        catch (final RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void cancel() {
+        query.cancel();
+    }
+
+    private void acquire() {
+        try {
+            permits.acquire();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ThreadRuntimeException("Interrupted waiting for a connection permit", e);
+        }
+    }
+}
@@ -23,7 +23,9 @@
  */
 package com.github.macwille.queries;
 
+import org.jooq.Configuration;
 import org.jooq.SQLDialect;
+import org.jooq.impl.DefaultConfiguration;
 
 import javax.sql.DataSource;
 import java.util.ArrayList;
@@ -31,25 +33,27 @@ import java.util.List;
 
 public final class QueriesFromStrings {
 
-    private final DataSource dataSource;
+    private final Configuration configuration;
     private final List<String> sqlList;
-    private final SQLDialect dialect;
 
     public QueriesFromStrings(final DataSource dataSource, final List<String> sqlList) {
         this(dataSource, sqlList, SQLDialect.MYSQL);
     }
 
     public QueriesFromStrings(final DataSource dataSource, final List<String> sqlList, SQLDialect dialect) {
-        this.dataSource = dataSource;
+        this(new DefaultConfiguration().derive(dataSource).derive(dialect), sqlList);
+    }
+
+    public QueriesFromStrings(final Configuration configuration, final List<String> sqlList) {
+        this.configuration = configuration;
         this.sqlList = sqlList;
-        this.dialect = dialect;
     }
 
     public List<CallableQuery> queries() {
 
         final List<CallableQuery> callableQueryQueue = new ArrayList<>(sqlList.size());
         for (final String sql : sqlList) {
-            callableQueryQueue.add(new QueryFromString(dataSource, sql, dialect));
+            callableQueryQueue.add(new QueryFromString(configuration, sql));
         }
         return callableQueryQueue;
     }
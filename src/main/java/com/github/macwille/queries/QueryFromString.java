@@ -23,6 +23,7 @@
  */
 package com.github.macwille.queries;
 
+import org.jooq.Configuration;
 import org.jooq.Record;
 import org.jooq.Result;
 import org.jooq.SQLDialect;
@@ -41,6 +42,10 @@ public final class QueryFromString implements CallableQuery {
         this(new CallableQueryImpl(dataSource, sql, dialect));
     }
 
+    public QueryFromString(final Configuration configuration, final String sql) {
+        this(new CallableQueryImpl(configuration, sql));
+    }
+
     public QueryFromString(final CallableQuery query) {
         this.query = query;
     }
@@ -49,4 +54,9 @@ public final class QueryFromString implements CallableQuery {
     public Result<Record> call() throws Exception {
         return query.call();
     }
+
+    @Override
+    public void cancel() {
+        query.cancel();
+    }
 }
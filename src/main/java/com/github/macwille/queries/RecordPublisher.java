@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import org.jooq.Record;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Publishes the rows of the queries in query order with backpressure, rows are fetched from the cursors only as fast as
+ * the subscriber requests them. Queries after the current one are executed ahead of time, up to the given number.
+ * Every subscription runs the queries again.
+ */
+public final class RecordPublisher implements Flow.Publisher<Record> {
+
+    private final List<StreamingQuery> queryList;
+    private final Executor executor;
+    private final int ahead;
+
+    public RecordPublisher(final List<StreamingQuery> queryList, final Executor executor) {
+        this(queryList, executor, 1);
+    }
+
+    public RecordPublisher(final List<StreamingQuery> queryList, final Executor executor, final int ahead) {
+        this.queryList = queryList;
+        this.executor = executor;
+        this.ahead = ahead;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Record> subscriber) {
+        subscriber.onSubscribe(new RecordSubscription(subscriber, queryList, executor, ahead));
+    }
+}
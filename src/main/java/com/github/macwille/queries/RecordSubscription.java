@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import org.jooq.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Emits the rows of the queries in query order, pulling each row from its cursor only when the subscriber has
+ * demand. Signals are emitted from one drain loop at a time on the executor, so the subscriber is never called
+ * concurrently. While demand is zero the loop stops and the cursors are left untouched. Queries are opened on the
+ * executor too, the loop does not wait for them but is scheduled again when the next one has opened.
+ */
+final class RecordSubscription implements Flow.Subscription {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecordSubscription.class);
+
+    private final Flow.Subscriber<? super Record> subscriber;
+    private final List<StreamingQuery> queryList;
+    private final Executor executor;
+    private final int ahead;
+    private final AtomicLong demand;
+    private final AtomicInteger work;
+    private final Deque<CompletableFuture<OpenedStream>> opened;
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+    private OpenedStream current;
+    private int nextQuery;
+    private boolean done;
+
+    RecordSubscription(
+            final Flow.Subscriber<? super Record> subscriber,
+            final List<StreamingQuery> queryList,
+            final Executor executor,
+            final int ahead
+    ) {
+        this.subscriber = subscriber;
+        this.queryList = queryList;
+        this.executor = executor;
+        this.ahead = ahead;
+        this.demand = new AtomicLong();
+        this.work = new AtomicInteger();
+        this.opened = new ArrayDeque<>();
+        this.cancelled = false;
+        this.invalidRequest = null;
+        this.current = null;
+        this.nextQuery = 0;
+        this.done = false;
+    }
+
+    @Override
+    public void request(final long n) {
+        if (n <= 0) {
+            invalidRequest = new IllegalArgumentException("Requested <" + n + "> rows, must be positive");
+        }
+        else {
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+        }
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        schedule();
+    }
+
+    private void schedule() {
+        if (work.getAndIncrement() == 0) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            if (!done) {
+                try {
+                    emit();
+                }
+                catch (final CompletionException e) {
+                    LOGGER.debug("Opening a query failed: {}", e.getCause().getMessage());
+                    finish();
+                    subscriber.onError(e.getCause());
+                }
+                catch (final RuntimeException e) {
+                    LOGGER.debug("Publishing records failed: {}", e.getMessage());
+                    finish();
+                    subscriber.onError(e);
+                }
+            }
+            missed = work.addAndGet(-missed);
+        }
+        while (missed != 0);
+    }
+
+    private void emit() {
+        if (cancelled) {
+            finish();
+            return;
+        }
+        if (invalidRequest != null) {
+            finish();
+            subscriber.onError(invalidRequest);
+            return;
+        }
+        while (demand.get() > 0 && !cancelled) {
+            if (current == null || !current.iterator().hasNext()) {
+                if (current != null) {
+                    current.close();
+                    current = null;
+                }
+                open();
+                if (opened.isEmpty()) {
+                    finish();
+                    subscriber.onComplete();
+                    return;
+                }
+                if (!opened.peek().isDone()) {
+                    opened.peek().whenComplete((stream, error) -> schedule());
+                    return;
+                }
+                current = opened.poll().join();
+                continue;
+            }
+            subscriber.onNext(current.iterator().next());
+            demand.decrementAndGet();
+        }
+        if (cancelled) {
+            finish();
+        }
+    }
+
+    /**
+     * Starts the queries that may run ahead of the one being emitted, so they execute while earlier rows are consumed.
+     */
+    private void open() {
+        while (opened.size() <= ahead && nextQuery < queryList.size()) {
+            final StreamingQuery query = queryList.get(nextQuery);
+            opened.add(CompletableFuture.supplyAsync(() -> opened(query), executor));
+            nextQuery++;
+        }
+    }
+
+    /**
+     * Executes the query, closing its stream when that fails so that the connection and its permit are released.
+     */
+    private static OpenedStream opened(final StreamingQuery query) {
+        final Stream<Record> stream = query.stream();
+        try {
+            return new OpenedStream(stream);
+        }
+        catch (final RuntimeException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    private void finish() {
+        done = true;
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+        for (final CompletableFuture<OpenedStream> future : opened) {
+            future.thenAccept(OpenedStream::close);
+        }
+        opened.clear();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Keeps hold of the JDBC statement of the query being fetched so another thread can cancel it. The statement is taken
+ * from the execute listener right before it executes, and a cancel that arrives earlier stops it there, so no window
+ * is left in which a cancel is lost.
+ */
+public final class RunningStatement {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunningStatement.class);
+
+    private final AtomicReference<Statement> running;
+    private final AtomicBoolean cancelled;
+
+    public RunningStatement() {
+        this.running = new AtomicReference<>();
+        this.cancelled = new AtomicBoolean();
+    }
+
+    public Result<Record> fetch(final ResultQuery<Record> query) {
+        return fetch(query, ResultQuery::fetch);
+    }
+
+    /**
+     * Fetches the query in any shape, such as straight from its result set.
+     */
+    public <T> T fetch(final ResultQuery<Record> query, final Function<ResultQuery<Record>, T> fetching) {
+        if (cancelled.get()) {
+            throw new CancellationException("Query was cancelled before it started");
+        }
+        query.attach(query.configuration().deriveAppending(ExecuteListener.onExecuteStart(this::executing)));
+        try {
+            return fetching.apply(query);
+        }
+        finally {
+            running.set(null);
+        }
+    }
+
+    public void cancel() {
+        cancelled.set(true);
+        final Statement statement = running.get();
+        if (statement != null) {
+            cancel(statement);
+        }
+    }
+
+    private void executing(final ExecuteContext ctx) {
+        running.set(ctx.statement());
+        // a cancel before the statement was published did not see it
+        if (cancelled.get()) {
+            throw new CancellationException("Query was cancelled before it executed");
+        }
+    }
+
+    private void cancel(final Statement statement) {
+        try {
+            statement.cancel();
+        }
+        catch (final SQLException e) {
+            LOGGER.debug("Statement finished while it was cancelled: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.github.macwille.ThreadRuntimeException;
+import org.jooq.Configuration;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads the rows lazily through a cursor, the driver buffers at most fetch size rows and the connection is held until
+ * the last row has been consumed.
+ */
+public final class StreamingQueryImpl implements StreamingQuery {
+
+    private final DSLContext ctx;
+    private final String query;
+    private final int fetchSize;
+    private final RunningStatement statement;
+
+    public StreamingQueryImpl(final Configuration configuration, final String query, final int fetchSize) {
+        this(DSL.using(configuration), query, fetchSize);
+    }
+
+    public StreamingQueryImpl(final DSLContext ctx, final String query, final int fetchSize) {
+        this.ctx = ctx;
+        this.query = query;
+        this.fetchSize = fetchSize;
+        this.statement = new RunningStatement();
+    }
+
+    @Override
+    public void forEach(final Consumer<Record> consumer) {
+        try {
+            statement.fetch(ctx.resultQuery(query).fetchSize(fetchSize), running -> {
+                try (final Cursor<Record> cursor = running.fetchLazy()) {
+                    for (final Record record : cursor) {
+                        consumer.accept(record);
+                    }
+                }
+                return null;
+            });
+        }
+        catch (final DataAccessException e) {
+            throw new ThreadRuntimeException("Error streaming records", e);
+        }
+    }
+
+    /**
+     * The returned stream keeps its connection open and must be closed by the caller.
+     */
+    @Override
+    public Stream<Record> stream() {
+        try {
+            return statement.fetch(ctx.resultQuery(query).fetchSize(fetchSize), ResultQuery::fetchStream);
+        }
+        catch (final DataAccessException e) {
+            throw new ThreadRuntimeException("Error streaming records", e);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        statement.cancel();
+    }
+}
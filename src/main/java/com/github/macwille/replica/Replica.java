@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.replica;
+
+import com.github.macwille.QueryEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read replica with its own engine. Tracks the queries in flight and a moving average of their latency, and leaves
+ * the rotation after consecutive connection or timeout failures or when its average latency exceeds the maximum,
+ * until a health check passes again. A replica out of rotation is due for another health check once the back-off
+ * since it left, or since its last failed check, has passed.
+ */
+public final class Replica implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Replica.class);
+
+    private final String name;
+    private final QueryEngine engine;
+    private final int maxFailures;
+    private final long maxLatencyNanos;
+    private final long backOffNanos;
+    private final AtomicInteger outstanding;
+    private final AtomicLong latencyNanos;
+    private final AtomicInteger failures;
+    private final AtomicBoolean inRotation;
+    private final AtomicLong probeDue;
+    private final AtomicBoolean probing;
+
+    public Replica(final String name, final QueryEngine engine) {
+        this(name, engine, 3, Duration.ofSeconds(1));
+    }
+
+    public Replica(final String name, final QueryEngine engine, final int maxFailures, final Duration maxLatency) {
+        this(name, engine, maxFailures, maxLatency, Duration.ofSeconds(5));
+    }
+
+    public Replica(
+            final String name,
+            final QueryEngine engine,
+            final int maxFailures,
+            final Duration maxLatency,
+            final Duration backOff
+    ) {
+        this.name = name;
+        this.engine = engine;
+        this.maxFailures = maxFailures;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.backOffNanos = backOff.toNanos();
+        this.outstanding = new AtomicInteger();
+        this.latencyNanos = new AtomicLong();
+        this.failures = new AtomicInteger();
+        this.inRotation = new AtomicBoolean(true);
+        this.probeDue = new AtomicLong();
+        this.probing = new AtomicBoolean(false);
+    }
+
+    QueryEngine engine() {
+        return engine;
+    }
+
+    void started() {
+        outstanding.incrementAndGet();
+    }
+
+    void succeeded(final long nanos) {
+        outstanding.decrementAndGet();
+        failures.set(0);
+        final long average = latencyNanos.updateAndGet(old -> old == 0 ? nanos : old + (nanos - old) * 3 / 10);
+        if (average > maxLatencyNanos && leftRotation()) {
+            LOGGER.warn("Replica <{}> out of rotation, average latency <{}> ns", name, average);
+        }
+    }
+
+    /**
+     * The query ended without telling anything about the replica, for example by an error of the query itself.
+     */
+    void finished() {
+        outstanding.decrementAndGet();
+    }
+
+    void failed(final Throwable error) {
+        outstanding.decrementAndGet();
+        if (failures.incrementAndGet() >= maxFailures && leftRotation()) {
+            LOGGER.warn("Replica <{}> out of rotation after <{}> failures: {}", name, maxFailures, error.getMessage());
+        }
+    }
+
+    /**
+     * Result of a health check probe: a fast successful probe restores the replica to the rotation and restarts its
+     * average latency from the probe, anything else takes it out.
+     */
+    void probed(final long nanos, final Throwable error) {
+        if (error == null && nanos <= maxLatencyNanos) {
+            failures.set(0);
+            latencyNanos.set(nanos);
+            if (inRotation.compareAndSet(false, true)) {
+                LOGGER.info("Replica <{}> back in rotation", name);
+            }
+        }
+        else if (leftRotation()) {
+            LOGGER.warn("Replica <{}> out of rotation, health check took <{}> ns", name, nanos, error);
+        }
+        probing.set(false);
+    }
+
+    /**
+     * True for one caller once the replica is out of rotation and its back-off has passed, that caller runs the
+     * health check.
+     */
+    boolean probeDue(final long now) {
+        return !inRotation.get() && now - probeDue.get() >= 0 && probing.compareAndSet(false, true);
+    }
+
+    /**
+     * Takes the replica out of rotation and starts the back-off, true when it was in rotation.
+     */
+    private boolean leftRotation() {
+        probeDue.set(System.nanoTime() + backOffNanos);
+        return inRotation.compareAndSet(true, false);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean inRotation() {
+        return inRotation.get();
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public Duration latency() {
+        return Duration.ofNanos(latencyNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "Replica{name=" + name + ", inRotation=" + inRotation() + ", outstanding=" + outstanding()
+                + ", latency=" + latency() + "}";
+    }
+
+    @Override
+    public void close() {
+        engine.close();
+    }
+}
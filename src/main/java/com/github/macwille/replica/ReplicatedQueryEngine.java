@@ -0,0 +1,222 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.replica;
+
+import com.github.macwille.DatasourceConfiguration;
+import com.github.macwille.QueryEngine;
+import com.github.macwille.ThreadRuntimeException;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends reads to the read replicas in rotation and writes and pinned queries to the primary. Every read goes to the
+ * replica chosen by the balancing when it starts, a read the replica failed by connection loss or timeout is retried
+ * on the primary, and reads go to the primary while no replica is in rotation. Errors of the query itself go straight
+ * to the caller. Health checks bring replicas back into the rotation: a replica out of rotation is checked in the
+ * background by the next read after its back-off, and {@link #checkHealth()} checks all replicas at once.
+ */
+public final class ReplicatedQueryEngine implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicatedQueryEngine.class);
+
+    private final QueryEngine primary;
+    private final List<Replica> replicas;
+    private final Balancing balancing;
+    private final String probe;
+    private final AtomicInteger next;
+
+    public ReplicatedQueryEngine(
+            final DatasourceConfiguration primary,
+            final List<DatasourceConfiguration> replicas,
+            final SQLDialect dialect,
+            final int threads
+    ) {
+        this(
+                new QueryEngine(primary, dialect, threads),
+                replicas(replicas, dialect, threads),
+                Balancing.LATENCY_WEIGHTED
+        );
+    }
+
+    public ReplicatedQueryEngine(final QueryEngine primary, final List<Replica> replicas, final Balancing balancing) {
+        this(primary, replicas, balancing, "SELECT 1");
+    }
+
+    public ReplicatedQueryEngine(
+            final QueryEngine primary,
+            final List<Replica> replicas,
+            final Balancing balancing,
+            final String probe
+    ) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.balancing = balancing;
+        this.probe = probe;
+        this.next = new AtomicInteger();
+    }
+
+    private static List<Replica> replicas(
+            final List<DatasourceConfiguration> configurations,
+            final SQLDialect dialect,
+            final int threads
+    ) {
+        final List<Replica> replicas = new ArrayList<>(configurations.size());
+        for (int i = 0; i < configurations.size(); i++) {
+            replicas.add(new Replica("replica-" + i, new QueryEngine(configurations.get(i), dialect, threads)));
+        }
+        return replicas;
+    }
+
+    /**
+     * Executes the read queries on the replicas, returning the results in input order.
+     */
+    public List<Result<Record>> execute(final List<String> queries) {
+        LOGGER.trace("Executing reads <{}> on replicas", queries);
+        final List<ReplicatedRead> reads = new ArrayList<>(queries.size());
+        final List<CompletableFuture<Result<Record>>> futures = new ArrayList<>(queries.size());
+        for (final String query : queries) {
+            final ReplicatedRead read = new ReplicatedRead(query, primary);
+            reads.add(read);
+            futures.add(read.started(replica()));
+        }
+        final List<Result<Record>> results = new ArrayList<>(futures.size());
+        try {
+            for (final CompletableFuture<Result<Record>> future : futures) {
+                results.add(future.join());
+            }
+        }
+        catch (final CompletionException e) {
+            for (final ReplicatedRead read : reads) {
+                read.cancel();
+            }
+            throw new ThreadRuntimeException("Replicated read failed", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Executes the queries on the primary, for reads that must see the latest writes.
+     */
+    public List<Result<Record>> executePinned(final List<String> queries) {
+        return primary.execute(queries);
+    }
+
+    public int[] update(final List<String> statements, final int batchSize, final boolean transactional) {
+        return primary.update(statements, batchSize, transactional);
+    }
+
+    public int[] update(final String sql, final List<Object[]> rows, final int batchSize, final boolean transactional) {
+        return primary.update(sql, rows, batchSize, transactional);
+    }
+
+    /**
+     * Runs the probe query on every replica, restoring fast healthy replicas to the rotation and taking slow or
+     * failing ones out. Returns the replicas in rotation afterwards.
+     */
+    public List<Replica> checkHealth() {
+        final List<CompletableFuture<?>> probes = new ArrayList<>(replicas.size());
+        for (final Replica replica : replicas) {
+            probes.add(probed(replica));
+        }
+        CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0])).exceptionally(error -> null).join();
+        final List<Replica> inRotation = new ArrayList<>(replicas.size());
+        for (final Replica replica : replicas) {
+            if (replica.inRotation()) {
+                inRotation.add(replica);
+            }
+        }
+        return inRotation;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    private CompletableFuture<Result<Record>> probed(final Replica replica) {
+        final long start = System.nanoTime();
+        try {
+            return replica
+                    .engine()
+                    .executeAsync(List.of(probe))
+                    .get(0)
+                    .whenComplete((result, error) -> replica.probed(System.nanoTime() - start, error));
+        }
+        catch (final RuntimeException e) {
+            replica.probed(System.nanoTime() - start, e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Replica in rotation chosen by the balancing, scanning from a rotating offset so ties are spread evenly. Null
+     * when no replica is in rotation. Starts the health check of every replica that is due for one, without waiting
+     * for it.
+     */
+    private Replica replica() {
+        final int offset = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        final long now = System.nanoTime();
+        Replica chosen = null;
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            final Replica replica = replicas.get((offset + i) % replicas.size());
+            if (!replica.inRotation()) {
+                if (replica.probeDue(now)) {
+                    LOGGER.debug("Checking health of replica <{}> after its back-off", replica.name());
+                    probed(replica);
+                }
+                continue;
+            }
+            final long cost;
+            if (balancing == Balancing.LATENCY_WEIGHTED) {
+                cost = Math.max(1, replica.latency().toNanos()) * (replica.outstanding() + 1);
+            }
+            else {
+                cost = replica.outstanding();
+            }
+            if (cost < lowest) {
+                lowest = cost;
+                chosen = replica;
+            }
+        }
+        return chosen;
+    }
+
+    @Override
+    public void close() {
+        LOGGER.debug("Closing replicated query engine");
+        for (final Replica replica : replicas) {
+            replica.close();
+        }
+        primary.close();
+    }
+}
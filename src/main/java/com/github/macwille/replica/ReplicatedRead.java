@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.replica;
+
+import com.github.macwille.QueryEngine;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One read on a replica, retried on the primary when the replica is at fault. Cancelling cancels the running
+ * statements of every attempt and prevents the retry.
+ */
+final class ReplicatedRead {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicatedRead.class);
+
+    private final String query;
+    private final QueryEngine primary;
+    private final CompletableFuture<Result<Record>> result;
+    private final AtomicBoolean cancelled;
+    private final List<CompletableFuture<Result<Record>>> attempts;
+
+    ReplicatedRead(final String query, final QueryEngine primary) {
+        this.query = query;
+        this.primary = primary;
+        this.result = new CompletableFuture<>();
+        this.cancelled = new AtomicBoolean(false);
+        this.attempts = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Starts the read on the replica, or on the primary when there is no replica.
+     */
+    CompletableFuture<Result<Record>> started(final Replica replica) {
+        if (replica == null) {
+            onPrimary();
+            return result;
+        }
+        replica.started();
+        final long start = System.nanoTime();
+        attempt(replica.engine()).whenComplete((records, error) -> {
+            if (error == null) {
+                replica.succeeded(System.nanoTime() - start);
+                result.complete(records);
+            }
+            else if (cancelled.get() || !new ReplicaFault(error).caused()) {
+                replica.finished();
+                result.completeExceptionally(error);
+            }
+            else {
+                replica.failed(error);
+                LOGGER.debug("Read failed on replica <{}>, retrying on primary", replica.name());
+                onPrimary();
+            }
+        });
+        return result;
+    }
+
+    void cancel() {
+        cancelled.set(true);
+        for (final CompletableFuture<Result<Record>> attempt : attempts) {
+            attempt.cancel(true);
+        }
+        result.cancel(true);
+    }
+
+    private void onPrimary() {
+        attempt(primary).whenComplete((records, error) -> {
+            if (error == null) {
+                result.complete(records);
+            }
+            else {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    private CompletableFuture<Result<Record>> attempt(final QueryEngine engine) {
+        final CompletableFuture<Result<Record>> attempt = engine.executeAsync(List.of(query)).get(0);
+        attempts.add(attempt);
+        if (cancelled.get()) {
+            attempt.cancel(true);
+        }
+        return attempt;
+    }
+}
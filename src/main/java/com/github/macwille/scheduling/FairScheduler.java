@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared scheduler that decides which waiting query gets the next of its slots. Higher priority classes go first,
+ * within a class the tenants share the slots by weight through weighted fair queuing, and a tenant never runs more
+ * queries than its cap. Tasks wait in the scheduler, not in the executor, so an interactive caller does not queue
+ * behind a bulk job that submitted first. Tenants that were not configured get weight one and no cap. A task the
+ * executor rejects fails its future instead of being thrown from whichever thread happened to dispatch it.
+ */
+public final class FairScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FairScheduler.class);
+
+    private final Executor executor;
+    private final int capacity;
+    private final Map<String, Tenant> tenants;
+    private final Map<String, TenantQueue> queues;
+    private final ReentrantLock lock;
+    private double virtualTime;
+    private int running;
+
+    public FairScheduler(final Executor executor, final int capacity) {
+        this(executor, capacity, List.of());
+    }
+
+    public FairScheduler(final Executor executor, final int capacity, final List<Tenant> tenants) {
+        this.executor = executor;
+        this.capacity = capacity;
+        this.tenants = new HashMap<>();
+        for (final Tenant tenant : tenants) {
+            this.tenants.put(tenant.name(), tenant);
+        }
+        this.queues = new HashMap<>();
+        this.lock = new ReentrantLock();
+        this.virtualTime = 0;
+        this.running = 0;
+    }
+
+    /**
+     * Executor view for one tenant and priority, pass it wherever an executor runs the queries, for example
+     * {@code QueryEngine.execute(queries, executor)}.
+     */
+    public TenantExecutor executor(final String tenant, final Priority priority) {
+        return new TenantExecutor(this, tenant, priority);
+    }
+
+    void submit(final String tenant, final Priority priority, final QueuedTask task) {
+        lock.lock();
+        try {
+            queues
+                    .computeIfAbsent(tenant, name -> new TenantQueue(tenants.getOrDefault(name, new Tenant(name, 1))))
+                    .add(priority, task, virtualTime);
+            dispatch();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of tasks run at the same time. When the tasks are queries of one engine it should not exceed the pool
+     * size, otherwise started tasks wait for connections in arrival order and the priorities no longer hold.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    public int running() {
+        lock.lock();
+        try {
+            return running;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int running(final String tenant) {
+        lock.lock();
+        try {
+            final TenantQueue queue = queues.get(tenant);
+            return queue == null ? 0 : queue.running();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int waiting() {
+        lock.lock();
+        try {
+            int waiting = 0;
+            for (final TenantQueue queue : queues.values()) {
+                waiting += queue.waiting();
+            }
+            return waiting;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        while (running < capacity) {
+            TenantQueue next = null;
+            Priority nextPriority = null;
+            for (final Priority priority : Priority.values()) {
+                for (final TenantQueue queue : queues.values()) {
+                    if (queue.eligible(priority) && (next == null || queue.finishTag() < next.finishTag())) {
+                        next = queue;
+                    }
+                }
+                if (next != null) {
+                    nextPriority = priority;
+                    break;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+
+            virtualTime = Math.max(virtualTime, next.startTag());
+            final TenantQueue queue = next;
+            final QueuedTask task = queue.start(nextPriority);
+            running++;
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    }
+                    finally {
+                        finished(queue);
+                    }
+                });
+            }
+            catch (final RejectedExecutionException e) {
+                LOGGER.warn("Executor rejected a scheduled task: {}", e.getMessage());
+                queue.finished();
+                running--;
+                task.rejected(e);
+            }
+        }
+    }
+
+    private void finished(final TenantQueue queue) {
+        lock.lock();
+        try {
+            queue.finished();
+            running--;
+            dispatch();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Task waiting in the scheduler, tells its executor view when it is done, whether it ran or was rejected.
+ */
+final class QueuedTask implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueuedTask.class);
+
+    private final Runnable command;
+    private final Runnable done;
+
+    QueuedTask(final Runnable command, final Runnable done) {
+        this.command = command;
+        this.done = done;
+    }
+
+    @Override
+    public void run() {
+        try {
+            command.run();
+        }
+        finally {
+            done.run();
+        }
+    }
+
+    void rejected(final RuntimeException error) {
+        try {
+            if (command instanceof ScheduledTask<?> task) {
+                task.failed(error);
+            }
+            else {
+                LOGGER.error("Dropped a scheduled task the executor rejected: {}", error.getMessage());
+            }
+        }
+        finally {
+            done.run();
+        }
+    }
+}
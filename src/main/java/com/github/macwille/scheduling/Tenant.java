@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.scheduling;
+
+/**
+ * Scheduling settings of one caller: its share of the connections relative to the other tenants and the most
+ * queries it may run at the same time.
+ */
+public final class Tenant {
+
+    private final String name;
+    private final double weight;
+    private final int cap;
+
+    public Tenant(final String name, final double weight) {
+        this(name, weight, Integer.MAX_VALUE);
+    }
+
+    public Tenant(final String name, final double weight, final int cap) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException(
+                    "Weight of tenant <" + name + "> must be positive, was <" + weight + ">"
+            );
+        }
+        if (cap < 1) {
+            throw new IllegalArgumentException("Cap of tenant <" + name + "> must be positive, was <" + cap + ">");
+        }
+        this.name = name;
+        this.weight = weight;
+        this.cap = cap;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public double weight() {
+        return weight;
+    }
+
+    public int cap() {
+        return cap;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.scheduling;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executor that hands every task to the {@link FairScheduler} under one tenant and priority. Shutting it down only
+ * stops accepting tasks of this view, the scheduler and its executor keep running. The view terminates once its
+ * tasks still waiting or running have finished.
+ */
+public final class TenantExecutor extends AbstractExecutorService {
+
+    private final FairScheduler scheduler;
+    private final String tenant;
+    private final Priority priority;
+    private final ReentrantLock lock;
+    private final Condition terminated;
+    private boolean shutdown;
+    private int outstanding;
+
+    TenantExecutor(final FairScheduler scheduler, final String tenant, final Priority priority) {
+        this.scheduler = scheduler;
+        this.tenant = tenant;
+        this.priority = priority;
+        this.lock = new ReentrantLock();
+        this.terminated = lock.newCondition();
+        this.shutdown = false;
+        this.outstanding = 0;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor of tenant <" + tenant + "> has been shut down");
+            }
+            outstanding++;
+        }
+        finally {
+            lock.unlock();
+        }
+        scheduler.submit(tenant, priority, new QueuedTask(command, this::done));
+    }
+
+    /**
+     * Capacity of the scheduler behind this view.
+     */
+    public int capacity() {
+        return scheduler.capacity();
+    }
+
+    @Override
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            if (outstanding == 0) {
+                terminated.signalAll();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        lock.lock();
+        try {
+            return shutdown && outstanding == 0;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!(shutdown && outstanding == 0)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = terminated.awaitNanos(remaining);
+            }
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(final Runnable runnable, final T value) {
+        return new ScheduledTask<>(runnable, value);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(final Callable<T> callable) {
+        return new ScheduledTask<>(callable);
+    }
+
+    private void done() {
+        lock.lock();
+        try {
+            outstanding--;
+            if (shutdown && outstanding == 0) {
+                terminated.signalAll();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Waiting tasks of one tenant per priority class, with the start and finish tags used for weighted fair queuing. Only
+ * accessed while holding the scheduler's lock.
+ */
+final class TenantQueue {
+
+    private final Tenant tenant;
+    private final Map<Priority, ArrayDeque<QueuedTask>> waiting;
+    private double startTag;
+    private double virtualFinish;
+    private int running;
+
+    TenantQueue(final Tenant tenant) {
+        this.tenant = tenant;
+        this.waiting = new EnumMap<>(Priority.class);
+        for (final Priority priority : Priority.values()) {
+            waiting.put(priority, new ArrayDeque<>());
+        }
+        this.startTag = 0;
+        this.virtualFinish = 0;
+        this.running = 0;
+    }
+
+    /**
+     * Queues the task, a tenant that had nothing waiting gets a start tag of the current virtual time so it cannot
+     * claim the share it did not use while idle.
+     */
+    void add(final Priority priority, final QueuedTask task, final double virtualTime) {
+        if (waiting() == 0) {
+            startTag = Math.max(virtualTime, virtualFinish);
+        }
+        waiting.get(priority).add(task);
+    }
+
+    boolean eligible(final Priority priority) {
+        return running < tenant.cap() && !waiting.get(priority).isEmpty();
+    }
+
+    double startTag() {
+        return startTag;
+    }
+
+    /**
+     * Virtual time at which the next task of the tenant finishes, later for tenants with a lower weight.
+     */
+    double finishTag() {
+        return startTag + 1 / tenant.weight();
+    }
+
+    QueuedTask start(final Priority priority) {
+        virtualFinish = finishTag();
+        startTag = virtualFinish;
+        running++;
+        return waiting.get(priority).poll();
+    }
+
+    void finished() {
+        running--;
+    }
+
+    int running() {
+        return running;
+    }
+
+    int waiting() {
+        int waitingTasks = 0;
+        for (final ArrayDeque<QueuedTask> tasks : waiting.values()) {
+            waitingTasks += tasks.size();
+        }
+        return waitingTasks;
+    }
+}
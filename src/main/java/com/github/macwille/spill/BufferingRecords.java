@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.spill;
+
+import com.github.macwille.cache.RecordSize;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Collects streamed rows on the heap while they fit in the shared heap budget. The row that would exceed the budget
+ * moves the rows collected so far to a spill output and every later row is written straight to it, so a large result
+ * is never held on the heap as a whole.
+ */
+final class BufferingRecords implements Consumer<Record> {
+
+    private final long heapBudget;
+    private final AtomicLong heapBytes;
+    private final SpillWriter writer;
+    private Result<Record> heap;
+    private long reserved;
+    private SpillOutput output;
+
+    BufferingRecords(final long heapBudget, final AtomicLong heapBytes, final SpillWriter writer) {
+        this.heapBudget = heapBudget;
+        this.heapBytes = heapBytes;
+        this.writer = writer;
+        this.heap = null;
+        this.reserved = 0;
+        this.output = null;
+    }
+
+    @Override
+    public void accept(final Record record) {
+        if (output != null) {
+            output.write(record);
+            return;
+        }
+        if (heap == null) {
+            heap = DSL.using(SQLDialect.DEFAULT).newResult(record.fields());
+        }
+        final long bytes = new RecordSize(record).bytes();
+        if (heapBytes.addAndGet(bytes) <= heapBudget) {
+            reserved += bytes;
+            heap.add(record);
+            return;
+        }
+        heapBytes.addAndGet(-bytes - reserved);
+        reserved = 0;
+        output = writer.output(record.fields());
+        for (final Record buffered : heap) {
+            output.write(buffered);
+        }
+        heap = null;
+        output.write(record);
+    }
+
+    BufferedResult result() {
+        final BufferedResult result;
+        if (output != null) {
+            result = output.spilled();
+        }
+        else if (heap != null) {
+            result = new HeapResult(heap);
+        }
+        else {
+            result = new HeapResult(DSL.using(SQLDialect.DEFAULT).newResult());
+        }
+        return result;
+    }
+
+    /**
+     * Deletes what was spilled and gives the heap budget back, for a stream that failed part way.
+     */
+    void discard() {
+        if (output != null) {
+            output.discard();
+        }
+        heapBytes.addAndGet(-reserved);
+        reserved = 0;
+        heap = null;
+    }
+}
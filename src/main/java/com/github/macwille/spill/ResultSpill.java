@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.spill;
+
+import com.github.macwille.cache.ResultSize;
+import com.github.macwille.queries.StreamingQuery;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps results on the heap until their estimated size reaches the heap budget and writes every further result to
+ * temp files. Closing the spill deletes all files it has written, a result still being spilled when the spill closes
+ * deletes its own files once it is written.
+ */
+public final class ResultSpill implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultSpill.class);
+
+    private final long heapBudget;
+    private final SpillWriter writer;
+    private final AtomicLong heapBytes;
+    private final List<BufferedResult> spilledResults;
+    private final AtomicBoolean closed;
+
+    public ResultSpill(final long heapBudget) {
+        this(heapBudget, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    public ResultSpill(final long heapBudget, final Path directory) {
+        this(heapBudget, directory, 1L << 30);
+    }
+
+    public ResultSpill(final long heapBudget, final Path directory, final long segmentBytes) {
+        this.heapBudget = heapBudget;
+        this.writer = new SpillWriter(directory, segmentBytes);
+        this.heapBytes = new AtomicLong();
+        this.spilledResults = new CopyOnWriteArrayList<>();
+        this.closed = new AtomicBoolean(false);
+    }
+
+    /**
+     * Returns the result as is while it fits in the remaining heap budget, otherwise spills it. Safe to call from
+     * several threads.
+     */
+    public BufferedResult buffered(final Result<Record> result) {
+        open();
+        final long bytes = new ResultSize(result).bytes();
+        if (heapBytes.addAndGet(bytes) <= heapBudget) {
+            return new HeapResult(result);
+        }
+        heapBytes.addAndGet(-bytes);
+        LOGGER.debug("Spilling result of <{}> rows and about <{}> bytes", result.size(), bytes);
+        return kept(writer.spilled(result));
+    }
+
+    /**
+     * Streams the rows of the query into the heap budget and spills the rest of the result to disk as soon as the
+     * budget is used up, so the result is never materialized as a whole. Safe to call from several threads.
+     */
+    public BufferedResult buffered(final StreamingQuery query) {
+        open();
+        final BufferingRecords records = new BufferingRecords(heapBudget, heapBytes, writer);
+        try {
+            query.forEach(records);
+        }
+        catch (final RuntimeException e) {
+            records.discard();
+            throw e;
+        }
+        final BufferedResult result = records.result();
+        if (result.spilled()) {
+            LOGGER.debug("Spilled streamed result of <{}> rows", result.size());
+            kept(result);
+        }
+        return result;
+    }
+
+    public long heapBytes() {
+        return heapBytes.get();
+    }
+
+    public int spilledResults() {
+        return spilledResults.size();
+    }
+
+    @Override
+    public void close() {
+        closed.set(true);
+        for (final BufferedResult result : spilledResults) {
+            result.close();
+        }
+        spilledResults.clear();
+        heapBytes.set(0);
+    }
+
+    private void open() {
+        if (closed.get()) {
+            throw new IllegalStateException("Result spill has been closed");
+        }
+    }
+
+    /**
+     * Registers the spilled result for deletion on close. The result is added before the closed flag is checked, so
+     * either close sees it or the writer deletes it here.
+     */
+    private BufferedResult kept(final BufferedResult spilled) {
+        spilledResults.add(spilled);
+        if (closed.get()) {
+            spilled.close();
+            spilledResults.remove(spilled);
+            throw new IllegalStateException("Result spill was closed while the result was spilled");
+        }
+        return spilled;
+    }
+}
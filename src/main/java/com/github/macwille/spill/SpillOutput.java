@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.spill;
+
+import org.jooq.Field;
+import org.jooq.Record;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rows of one result being written to segment files, the first segment is created with the first row. When writing
+ * fails the segments written so far are deleted.
+ */
+final class SpillOutput {
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ValueCodec codec;
+    private final Field<?>[] fields;
+    private final List<Path> segments;
+    private final List<Object> retained;
+    private DataOutputStream output;
+    private int rows;
+
+    SpillOutput(final Path directory, final long segmentBytes, final ValueCodec codec, final Field<?>[] fields) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.codec = codec;
+        this.fields = fields;
+        this.segments = new ArrayList<>();
+        this.retained = new ArrayList<>();
+        this.output = null;
+        this.rows = 0;
+    }
+
+    void write(final Record record) {
+        try {
+            if (output == null || output.size() >= segmentBytes) {
+                segment();
+            }
+            for (int i = 0; i < fields.length; i++) {
+                codec.write(output, record.get(i), retained);
+            }
+            rows++;
+        }
+        catch (final IOException e) {
+            discard();
+            throw new UncheckedIOException("Could not spill result to <" + directory + ">", e);
+        }
+        catch (final RuntimeException e) {
+            discard();
+            throw e;
+        }
+    }
+
+    SpilledResult spilled() {
+        try {
+            close();
+        }
+        catch (final IOException e) {
+            discard();
+            throw new UncheckedIOException("Could not spill result to <" + directory + ">", e);
+        }
+        return new SpilledResult(fields, segments, retained, rows);
+    }
+
+    void discard() {
+        try {
+            close();
+        }
+        catch (final IOException e) {
+            // the segments are deleted next, whatever was left unwritten
+        }
+        retained.clear();
+        new SpilledResult(fields, segments, 0).close();
+    }
+
+    private void segment() throws IOException {
+        close();
+        final Path segment = Files.createTempFile(directory, "multiquery-", ".spill");
+        segments.add(segment);
+        output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(segment), 64 * 1024));
+    }
+
+    private void close() throws IOException {
+        if (output != null) {
+            final DataOutputStream closing = output;
+            output = null;
+            closing.close();
+        }
+    }
+}
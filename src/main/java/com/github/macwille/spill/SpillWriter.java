@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.spill;
+
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+
+import java.nio.file.Path;
+
+/**
+ * Writes the rows of a result to segment files in the spill directory. A new segment is started once the current one
+ * reaches the segment size, so that every segment can be mapped as one buffer.
+ */
+final class SpillWriter {
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ValueCodec codec;
+
+    SpillWriter(final Path directory, final long segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.codec = new ValueCodec();
+    }
+
+    SpilledResult spilled(final Result<Record> result) {
+        final SpillOutput output = output(result.fields());
+        for (final Record record : result) {
+            output.write(record);
+        }
+        return output.spilled();
+    }
+
+    /**
+     * Output for rows that arrive one at a time, for results that are never materialized.
+     */
+    SpillOutput output(final Field<?>[] fields) {
+        return new SpillOutput(directory, segmentBytes, codec, fields);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.spill;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the records of a spilled result back from its segments, mapping one segment at a time.
+ */
+final class SpilledRecords implements Iterator<Record> {
+
+    private final Field<?>[] fields;
+    private final List<Path> segments;
+    private final List<Object> retained;
+    private final ValueCodec codec;
+    private final DSLContext ctx;
+    private ByteBuffer buffer;
+    private int segment;
+
+    SpilledRecords(final Field<?>[] fields, final List<Path> segments, final List<Object> retained) {
+        this.fields = fields;
+        this.segments = segments;
+        this.retained = retained;
+        this.codec = new ValueCodec();
+        this.ctx = DSL.using(SQLDialect.DEFAULT);
+        this.buffer = ByteBuffer.allocate(0);
+        this.segment = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!buffer.hasRemaining() && segment < segments.size()) {
+            buffer = mapped(segments.get(segment));
+            segment++;
+        }
+        return buffer.hasRemaining();
+    }
+
+    @Override
+    public Record next() throws NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("All spilled records have been read");
+        }
+        final Object[] values = new Object[fields.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = codec.read(buffer, retained);
+        }
+        final Record record = ctx.newRecord(fields);
+        record.fromArray(values);
+        record.touched(false);
+        return record;
+    }
+
+    private ByteBuffer mapped(final Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not map spill file <" + path + ">", e);
+        }
+    }
+}
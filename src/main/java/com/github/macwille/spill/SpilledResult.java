@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.spill;
+
+import org.jooq.Field;
+import org.jooq.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Result written to temp files, the records are read back through memory-mapped buffers on every iteration. Values
+ * the spill files have no encoding for are retained on the heap.
+ */
+public final class SpilledResult implements BufferedResult {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpilledResult.class);
+
+    private final Field<?>[] fields;
+    private final List<Path> segments;
+    private final List<Object> retained;
+    private final int size;
+    private final AtomicBoolean closed;
+
+    public SpilledResult(final Field<?>[] fields, final List<Path> segments, final int size) {
+        this(fields, segments, List.of(), size);
+    }
+
+    public SpilledResult(
+            final Field<?>[] fields,
+            final List<Path> segments,
+            final List<Object> retained,
+            final int size
+    ) {
+        this.fields = fields;
+        this.segments = List.copyOf(segments);
+        this.retained = List.copyOf(retained);
+        this.size = size;
+        this.closed = new AtomicBoolean(false);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean spilled() {
+        return true;
+    }
+
+    @Override
+    public Iterator<Record> iterator() {
+        if (closed.get()) {
+            throw new IllegalStateException("Spilled result has been closed");
+        }
+        return new SpilledRecords(fields, segments, retained);
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            for (final Path segment : segments) {
+                try {
+                    Files.deleteIfExists(segment);
+                }
+                catch (final IOException e) {
+                    LOGGER.warn("Could not delete spill file <{}>", segment, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.spill;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tagged binary encoding of the values of a record. Common JDBC types get a compact form, the remaining value types a
+ * JDBC driver returns fall back to Java serialization and reading back only accepts the classes of those types. Any
+ * other value, such as an array or a jOOQ {@code JSON} or unsigned number, stays on the heap in the retained values of
+ * its result and only its index is written.
+ */
+final class ValueCodec {
+
+    private static final byte NULL = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte STRING = 4;
+    private static final byte DECIMAL = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte SHORT = 7;
+    private static final byte FLOAT = 8;
+    private static final byte BYTES = 9;
+    private static final byte LOCAL_DATE = 10;
+    private static final byte LOCAL_DATE_TIME = 11;
+    private static final byte DATE = 12;
+    private static final byte TIME = 13;
+    private static final byte TIMESTAMP = 14;
+    private static final byte SERIALIZED = 15;
+    private static final byte RETAINED = 16;
+    private static final Set<Class<?>> SERIALIZABLE = Set
+            .of(
+                    BigInteger.class,
+                    Byte.class,
+                    UUID.class,
+                    LocalTime.class,
+                    OffsetTime.class,
+                    OffsetDateTime.class,
+                    ZonedDateTime.class,
+                    Instant.class
+            );
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config
+            .createFilter("java.math.BigInteger;java.lang.Number;java.lang.Byte;java.util.UUID;java.time.*;!*");
+
+    void write(final DataOutput output, final Object value, final List<Object> retained) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        }
+        else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        }
+        else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        }
+        else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        }
+        else if (value instanceof String) {
+            output.writeByte(STRING);
+            bytes(output, ((String) value).getBytes(StandardCharsets.UTF_8));
+        }
+        else if (value instanceof BigDecimal) {
+            output.writeByte(DECIMAL);
+            bytes(output, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        }
+        else if (value instanceof Short) {
+            output.writeByte(SHORT);
+            output.writeShort((Short) value);
+        }
+        else if (value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) value);
+        }
+        else if (value instanceof byte[]) {
+            output.writeByte(BYTES);
+            bytes(output, (byte[]) value);
+        }
+        else if (value instanceof LocalDate) {
+            output.writeByte(LOCAL_DATE);
+            output.writeLong(((LocalDate) value).toEpochDay());
+        }
+        else if (value instanceof LocalDateTime) {
+            output.writeByte(LOCAL_DATE_TIME);
+            bytes(output, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        else if (value instanceof Date) {
+            output.writeByte(DATE);
+            output.writeLong(((Date) value).getTime());
+        }
+        else if (value instanceof Time) {
+            output.writeByte(TIME);
+            output.writeLong(((Time) value).getTime());
+        }
+        else if (value instanceof Timestamp) {
+            output.writeByte(TIMESTAMP);
+            output.writeLong(((Timestamp) value).getTime());
+            output.writeInt(((Timestamp) value).getNanos());
+        }
+        else if (SERIALIZABLE.contains(value.getClass())) {
+            output.writeByte(SERIALIZED);
+            final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutput = new ObjectOutputStream(serialized)) {
+                objectOutput.writeObject(value);
+            }
+            bytes(output, serialized.toByteArray());
+        }
+        else {
+            output.writeByte(RETAINED);
+            output.writeInt(retained.size());
+            retained.add(value);
+        }
+    }
+
+    Object read(final ByteBuffer buffer, final List<Object> retained) {
+        final byte tag = buffer.get();
+        final Object value;
+        switch (tag) {
+            case NULL -> value = null;
+            case INTEGER -> value = buffer.getInt();
+            case LONG -> value = buffer.getLong();
+            case DOUBLE -> value = buffer.getDouble();
+            case STRING -> value = new String(bytes(buffer), StandardCharsets.UTF_8);
+            case DECIMAL -> value = new BigDecimal(new String(bytes(buffer), StandardCharsets.UTF_8));
+            case BOOLEAN -> value = buffer.get() != 0;
+            case SHORT -> value = buffer.getShort();
+            case FLOAT -> value = buffer.getFloat();
+            case BYTES -> value = bytes(buffer);
+            case LOCAL_DATE -> value = LocalDate.ofEpochDay(buffer.getLong());
+            case LOCAL_DATE_TIME -> value = LocalDateTime.parse(new String(bytes(buffer), StandardCharsets.UTF_8));
+            case DATE -> value = new Date(buffer.getLong());
+            case TIME -> value = new Time(buffer.getLong());
+            case TIMESTAMP -> {
+                final Timestamp timestamp = new Timestamp(buffer.getLong());
+                timestamp.setNanos(buffer.getInt());
+                value = timestamp;
+            }
+            case SERIALIZED -> value = deserialized(bytes(buffer));
+            case RETAINED -> value = retained.get(buffer.getInt());
+            default -> throw new IllegalStateException("Unknown value tag <" + tag + "> in spill file");
+        }
+        return value;
+    }
+
+    private void bytes(final DataOutput output, final byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private byte[] bytes(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private Object deserialized(final byte[] bytes) {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            input.setObjectInputFilter(FILTER);
+            return input.readObject();
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not read spilled value", e);
+        }
+        catch (final ClassNotFoundException e) {
+            throw new IllegalStateException("Could not read spilled value", e);
+        }
+    }
+}
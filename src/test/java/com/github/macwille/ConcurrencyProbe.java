@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Database function counting how many queries run inside the database at the same time, registered in H2 with
+ * {@code CREATE ALIAS PROBE FOR 'com.github.macwille.ConcurrencyProbe.probe'}.
+ */
+public final class ConcurrencyProbe {
+
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+    private static final AtomicInteger PEAK = new AtomicInteger();
+
+    private ConcurrencyProbe() {
+    }
+
+    public static int probe(final int ms) throws InterruptedException {
+        final int running = RUNNING.incrementAndGet();
+        PEAK.accumulateAndGet(running, Math::max);
+        try {
+            Thread.sleep(ms);
+            return running;
+        }
+        finally {
+            RUNNING.decrementAndGet();
+        }
+    }
+
+    public static int peak() {
+        return PEAK.get();
+    }
+
+    public static void reset() {
+        PEAK.set(0);
+    }
+}
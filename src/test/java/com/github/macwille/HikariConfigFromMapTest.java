@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class HikariConfigFromMapTest {
+
+    @Test
+    void testProfileForDriver() {
+        final Map<String, String> options = new HashMap<>();
+        options.put("url", "jdbc:mysql://localhost:3306/test");
+        options.put("poolSize", "8");
+        options.put("profile", "oltp");
+
+        final HikariConfig config = new HikariConfigFromMap(options).config();
+        Assertions.assertEquals(8, config.getMaximumPoolSize());
+        Assertions.assertEquals(8, config.getMinimumIdle());
+        Assertions.assertEquals(2000, config.getConnectionTimeout());
+        Assertions.assertEquals("true", config.getDataSourceProperties().get("useServerPrepStmts"));
+        Assertions.assertEquals("true", config.getDataSourceProperties().get("rewriteBatchedStatements"));
+    }
+
+    @Test
+    void testOptionsOverrideProfile() {
+        final Map<String, String> options = new HashMap<>();
+        options.put("url", "jdbc:postgresql://localhost:5432/test");
+        options.put("profile", "Analytics");
+        options.put("connectionTimeout", "5000");
+        options.put("dataSource.defaultRowFetchSize", "100");
+
+        final HikariConfig config = new HikariConfigFromMap(options).config();
+        Assertions.assertEquals(1, config.getMinimumIdle());
+        Assertions.assertEquals(5000, config.getConnectionTimeout());
+        Assertions.assertEquals("100", config.getDataSourceProperties().get("defaultRowFetchSize"));
+        Assertions.assertEquals("true", config.getDataSourceProperties().get("reWriteBatchedInserts"));
+    }
+
+    @Test
+    void testInvalidOptions() {
+        final Map<String, String> profile = new HashMap<>();
+        profile.put("url", "jdbc:h2:mem:test");
+        profile.put("profile", "realtime");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HikariConfigFromMap(profile).config());
+
+        final Map<String, String> timeout = new HashMap<>();
+        timeout.put("url", "jdbc:h2:mem:test");
+        timeout.put("connectionTimeout", "fast");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HikariConfigFromMap(timeout).config());
+    }
+}
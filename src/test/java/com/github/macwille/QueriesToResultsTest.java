@@ -121,4 +121,26 @@ class QueriesToResultsTest {
         }
         Assertions.assertEquals(20, loops);
     }
+
+    @Test
+    void testResultsAsync() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("username", "test");
+        optionsMap.put("password", "test_password");
+
+        final List<Result<Record>> results = new QueriesToResults(
+                new DatasourceConfiguration(optionsMap),
+                List
+                        .of(
+                                "SELECT * FROM queries_to_results_test WHERE id BETWEEN 1 AND 100",
+                                "SELECT * FROM queries_to_results_test WHERE id BETWEEN 101 AND 300"
+                        ),
+                SQLDialect.MYSQL
+        ).resultsAsync().join();
+
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertEquals(100, results.get(0).size());
+        Assertions.assertEquals(200, results.get(1).size());
+    }
 }
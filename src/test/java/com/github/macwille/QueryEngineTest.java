@@ -0,0 +1,875 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille;
+
+import com.github.macwille.bulkhead.Bulkhead;
+import com.github.macwille.bulkhead.Bulkheads;
+import com.github.macwille.dag.QueryGraph;
+import com.github.macwille.dag.QueryNode;
+import com.github.macwille.limit.AimdLimit;
+import com.github.macwille.metrics.InMemoryQueryMetrics;
+import com.github.macwille.scheduling.FairScheduler;
+import com.github.macwille.scheduling.Priority;
+import com.github.macwille.queries.IndexedResult;
+import com.github.macwille.queries.PartitionedQuery;
+import com.github.macwille.spill.BufferedResult;
+import com.github.macwille.spill.ResultSpill;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+final class QueryEngineTest {
+
+    private final String url = "jdbc:h2:mem:testdb4;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @BeforeAll
+    void setUp() {
+        final Connection setupConn = Assertions.assertDoesNotThrow(() -> DriverManager.getConnection(url));
+        Assertions.assertDoesNotThrow(() -> {
+            PreparedStatement stmt = setupConn
+                    .prepareStatement("CREATE TABLE query_engine_test (id INT PRIMARY KEY, name VARCHAR(255));");
+            stmt.execute();
+        });
+        Assertions.assertDoesNotThrow(() -> {
+            try (final Statement stmt = setupConn.createStatement()) {
+                stmt.execute(
+                        "CREATE ALIAS SLEEP_MS AS 'int sleep(int ms) throws Exception { Thread.sleep(ms); return ms; }'"
+                );
+                stmt.execute("CREATE ALIAS PROBE FOR 'com.github.macwille.ConcurrencyProbe.probe'");
+            }
+        });
+        Assertions.assertDoesNotThrow(() -> {
+            try (final Statement stmt = setupConn.createStatement()) {
+                for (int i = 1; i <= 1000; i++) {
+                    stmt.execute("INSERT INTO query_engine_test (id, name) VALUES (" + i + ", 'Name" + i + "');");
+                }
+            }
+        });
+        Assertions.assertDoesNotThrow(setupConn::close);
+    }
+
+    @Test
+    void testRepeatedExecutions() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+
+        final List<String> queries = List
+                .of(
+                        "SELECT * FROM query_engine_test WHERE id BETWEEN 1 AND 250",
+                        "SELECT * FROM query_engine_test WHERE id BETWEEN 251 AND 500",
+                        "SELECT * FROM query_engine_test WHERE id BETWEEN 501 AND 1000"
+                );
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4)) {
+            for (int i = 0; i < 10; i++) {
+                final List<Result<Record>> results = engine.execute(queries);
+                Assertions.assertEquals(3, results.size());
+                Assertions.assertEquals(250, results.get(0).size());
+                Assertions.assertEquals(250, results.get(1).size());
+                Assertions.assertEquals(500, results.get(2).size());
+            }
+        }
+    }
+
+    @Test
+    void testVirtualThreadsOverPoolLimit() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "2");
+
+        final List<String> queries = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            queries.add("SELECT * FROM query_engine_test WHERE id = " + i);
+        }
+
+        try (
+                final QueryEngine engine = new QueryEngine(
+                        new DatasourceConfiguration(optionsMap),
+                        SQLDialect.H2,
+                        Executors.newVirtualThreadPerTaskExecutor()
+                )
+        ) {
+            final List<Result<Record>> results = engine.execute(queries);
+            Assertions.assertEquals(1000, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertEquals(i + 1, results.get(i).get(0).get("ID", Integer.class));
+            }
+        }
+    }
+
+    @Test
+    void testPeakConcurrencyWithinPoolSize() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "2");
+
+        final List<String> queries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            queries.add("SELECT PROBE(20)");
+        }
+
+        try (
+                final QueryEngine engine = new QueryEngine(
+                        new DatasourceConfiguration(optionsMap),
+                        SQLDialect.H2,
+                        Executors.newVirtualThreadPerTaskExecutor()
+                )
+        ) {
+            ConcurrencyProbe.reset();
+            final List<Result<Record>> results = engine.execute(queries);
+            Assertions.assertEquals(50, results.size());
+            // 50 virtual threads are admitted, never more than the two pooled connections query at once
+            Assertions.assertEquals(2, ConcurrencyProbe.peak());
+        }
+    }
+
+    @Test
+    void testStreamingRowsWithQueryIndex() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+
+        final List<String> queries = List
+                .of(
+                        "SELECT * FROM query_engine_test WHERE id BETWEEN 1 AND 100",
+                        "SELECT * FROM query_engine_test WHERE id BETWEEN 101 AND 1000"
+                );
+
+        final AtomicIntegerArray rows = new AtomicIntegerArray(2);
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 2)) {
+            engine.stream(queries, 50, (record, index) -> {
+                Assertions.assertEquals("Name" + record.get("ID"), record.get("NAME"));
+                rows.incrementAndGet(index);
+            });
+        }
+        Assertions.assertEquals(100, rows.get(0));
+        Assertions.assertEquals(900, rows.get(1));
+    }
+
+    @Test
+    void testMetricsRecordEveryQuery() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+
+        final InMemoryQueryMetrics metrics = new InMemoryQueryMetrics(true);
+        try (
+                final QueryEngine engine = new QueryEngine(
+                        new DatasourceConfiguration(optionsMap),
+                        SQLDialect.H2,
+                        4,
+                        metrics
+                )
+        ) {
+            final List<String> queries = List
+                    .of(
+                            "SELECT * FROM query_engine_test WHERE id BETWEEN 1 AND 250",
+                            "SELECT * FROM query_engine_test WHERE id BETWEEN 251 AND 1000"
+                    );
+            engine.execute(queries);
+            try (final ResultSpill spill = new ResultSpill(0)) {
+                engine.executeSpilled(queries, spill);
+            }
+            // rows streamed to a consumer are not measured
+            engine.stream(queries, (record, index) -> {
+            });
+        }
+
+        Assertions.assertEquals(4, metrics.execution().count());
+        Assertions.assertEquals(4, metrics.fetch().count());
+        Assertions.assertEquals(2, metrics.wallTime().count());
+        Assertions.assertEquals(2000, metrics.rows());
+        Assertions.assertTrue(metrics.bytes() > 0);
+        Assertions.assertTrue(metrics.execution().max() > 0);
+        Assertions.assertTrue(metrics.fetch().percentile(99) > 0);
+        Assertions.assertTrue(metrics.utilization() > 0 && metrics.utilization() <= 1);
+    }
+
+    @Test
+    void testMetricsRecordPermitWaitAndCompletions() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "1");
+
+        final List<String> queries = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            queries.add("SELECT * FROM query_engine_test WHERE id <= " + i * 250);
+        }
+
+        final InMemoryQueryMetrics metrics = new InMemoryQueryMetrics();
+        try (
+                final QueryEngine engine = new QueryEngine(
+                        new DatasourceConfiguration(optionsMap),
+                        SQLDialect.H2,
+                        4,
+                        metrics
+                )
+        ) {
+            engine.execute(queries);
+            final Iterator<IndexedResult> completed = engine.completions(queries.subList(0, 2));
+            while (completed.hasNext()) {
+                completed.next();
+            }
+        }
+
+        Assertions.assertEquals(6, metrics.queueWait().count());
+        Assertions.assertEquals(2, metrics.wallTime().count());
+        Assertions.assertEquals(0, metrics.bytes());
+        // with one permit the last query waits for the connection while the others run
+        Assertions.assertTrue(metrics.queueWait().max() >= metrics.execution().percentile(1) / 2);
+    }
+
+    @Test
+    void testStreamAndSpillFailuresCancelRunningQueries() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+
+        // H2 keeps scanning when its thread is interrupted, only Statement.cancel() stops it
+        final List<String> queries = List
+                .of(
+                        "SELECT SUM(X) FROM SYSTEM_RANGE(1, 10000000000)",
+                        "SELECT CAST(CONCAT('x', SLEEP_MS(200)) AS INT)"
+                );
+
+        try (
+                final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4);
+                final ResultSpill spill = new ResultSpill(64 * 1024)
+        ) {
+            // the failure waits for the scan, so it only returns in time when the scan was cancelled
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+                Assertions.assertThrows(ThreadRuntimeException.class, () -> engine.stream(queries, (record, index) -> {
+                }));
+                Assertions.assertThrows(ThreadRuntimeException.class, () -> engine.executeSpilled(queries, spill));
+            });
+        }
+    }
+
+    @Test
+    void testSpilledExecution() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+
+        final List<String> queries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            queries.add("SELECT * FROM query_engine_test WHERE id > " + (i * 100) + " ORDER BY id");
+        }
+
+        try (
+                final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4);
+                final ResultSpill spill = new ResultSpill(64 * 1024)
+        ) {
+            final List<BufferedResult> results = engine.executeSpilled(queries, spill);
+            Assertions.assertEquals(10, results.size());
+            Assertions.assertTrue(spill.spilledResults() > 0);
+            // rows are streamed, so the heap held by the results stays within the budget
+            Assertions.assertTrue(spill.heapBytes() <= 64 * 1024);
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertEquals(1000 - i * 100, results.get(i).size());
+                int expectedId = i * 100 + 1;
+                for (final Record record : results.get(i)) {
+                    Assertions.assertEquals(expectedId++, record.get("ID", Integer.class));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPartitionedExecution() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4)) {
+            final Result<Record> byId = engine
+                    .executePartitioned(new PartitionedQuery("SELECT * FROM query_engine_test", "id", 100, 900, 4));
+            Assertions.assertEquals(1000, byId.size());
+            for (int i = 0; i < byId.size(); i++) {
+                Assertions.assertEquals(i + 1, byId.get(i).get("ID", Integer.class));
+            }
+
+            final Result<Record> byDay = engine
+                    .executePartitioned(
+                            new PartitionedQuery(
+                                    "SELECT id, DATEADD('DAY', id, DATE '2024-01-01') AS created "
+                                            + "FROM query_engine_test",
+                                    "created",
+                                    LocalDate.of(2024, 1, 1),
+                                    LocalDate.of(2026, 1, 1),
+                                    3
+                            )
+                    );
+            Assertions.assertEquals(1000, byDay.size());
+        }
+    }
+
+    @Test
+    void testAdaptiveLimit() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "4");
+
+        final List<String> queries = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            queries.add("SELECT * FROM query_engine_test WHERE id = " + i);
+        }
+
+        try (
+                final QueryEngine engine = new QueryEngine(
+                        new DatasourceConfiguration(optionsMap),
+                        SQLDialect.H2,
+                        Executors.newVirtualThreadPerTaskExecutor()
+                )
+        ) {
+            final AimdLimit limit = new AimdLimit(4);
+            final List<Result<Record>> results = engine.executeLimited(queries, limit);
+            Assertions.assertEquals(200, results.size());
+            Assertions.assertEquals(200, results.get(199).get(0).get("ID", Integer.class));
+            Assertions.assertTrue(limit.limit() >= 1 && limit.limit() <= 4);
+            Assertions.assertEquals(0, limit.inFlight());
+
+            Assertions
+                    .assertThrows(
+                            IllegalArgumentException.class,
+                            () -> engine.executeLimited(queries, new AimdLimit(8))
+                    );
+        }
+    }
+
+    @Test
+    void testWarmUp() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "4");
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4)) {
+            Assertions.assertFalse(engine.ready());
+            final Readiness readiness = engine.warmUp(List.of("SELECT COUNT(*) FROM query_engine_test"));
+            Assertions.assertTrue(readiness.ready());
+            Assertions.assertEquals(4, readiness.connections());
+            Assertions.assertEquals(1, readiness.primingQueries());
+            Assertions.assertTrue(engine.ready());
+
+            final Readiness failed = engine.warmUp(List.of("SELECT * FROM missing_table"));
+            Assertions.assertFalse(failed.ready());
+            Assertions.assertTrue(failed.error().isPresent());
+            Assertions.assertFalse(engine.ready());
+        }
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testWarmUpUnreachable() {
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setUsername("");
+        hikariConfig.setPassword("");
+        hikariConfig.setMaximumPoolSize(2);
+        hikariConfig.setConnectionTimeout(250);
+        final HikariDataSource dataSource = new HikariDataSource(hikariConfig);
+        try (final QueryEngine engine = new QueryEngine(dataSource, SQLDialect.H2, Executors.newFixedThreadPool(2))) {
+            Assertions.assertTrue(engine.warmUp().ready());
+            Assertions.assertTrue(engine.ready());
+
+            dataSource.getHikariConfigMXBean().setPassword("wrong");
+            dataSource.getHikariPoolMXBean().softEvictConnections();
+
+            final Readiness failed = engine.warmUp();
+            Assertions.assertFalse(failed.ready());
+            Assertions.assertInstanceOf(SQLTransientConnectionException.class, failed.error().orElseThrow().getCause());
+            Assertions.assertFalse(engine.ready());
+        }
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testChunkedExecution() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "4");
+
+        final List<String> queries = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            queries.add("SELECT * FROM query_engine_test WHERE id = " + i);
+        }
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4)) {
+            for (int run = 0; run < 3; run++) {
+                final List<Result<Record>> results = engine.executeChunked(queries);
+                Assertions.assertEquals(1000, results.size());
+                for (int i = 0; i < results.size(); i++) {
+                    Assertions.assertEquals(i + 1, results.get(i).get(0).get("ID", Integer.class));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testChunkedMetricsAndFailure() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "2");
+
+        final List<String> queries = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            queries.add("SELECT * FROM query_engine_test WHERE id = " + i);
+        }
+
+        final InMemoryQueryMetrics metrics = new InMemoryQueryMetrics();
+        try (
+                final QueryEngine engine = new QueryEngine(
+                        new DatasourceConfiguration(optionsMap),
+                        SQLDialect.H2,
+                        2,
+                        metrics
+                )
+        ) {
+            Assertions.assertEquals(100, engine.executeChunked(queries).size());
+            Assertions.assertEquals(100, metrics.execution().count());
+            Assertions.assertEquals(1, metrics.wallTime().count());
+
+            // the failing query cancels the statement of the long scan running on the other worker
+            final long started = System.nanoTime();
+            final ThreadRuntimeException failed = Assertions
+                    .assertThrows(
+                            ThreadRuntimeException.class,
+                            () -> engine
+                                    .executeChunked(
+                                            List
+                                                    .of(
+                                                            "SELECT SUM(X) FROM SYSTEM_RANGE(1, 10000000000)",
+                                                            "SELECT * FROM missing_table"
+                                                    )
+                                    )
+                    );
+            Assertions.assertTrue(System.nanoTime() - started < 10_000_000_000L);
+            Assertions.assertTrue(failed.getMessage().contains("MISSING_TABLE"), failed.getMessage());
+            Assertions.assertFalse(Thread.currentThread().isInterrupted());
+            Assertions.assertEquals(100, engine.executeChunked(queries).size());
+        }
+    }
+
+    @Test
+    void testAsyncExecution() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4)) {
+            final List<CompletableFuture<Result<Record>>> futures = engine
+                    .executeAsync(
+                            List
+                                    .of(
+                                            "SELECT * FROM query_engine_test WHERE id <= 10",
+                                            "SELECT * FROM missing_table"
+                                    )
+                    );
+            Assertions.assertEquals(10, futures.get(0).join().size());
+            Assertions.assertThrows(CompletionException.class, () -> futures.get(1).join());
+
+            final List<Result<Record>> results = engine
+                    .executeAllAsync(
+                            List
+                                    .of(
+                                            "SELECT * FROM query_engine_test WHERE id <= 10",
+                                            "SELECT * FROM query_engine_test WHERE id <= 20"
+                                    ),
+                            Executors.newVirtualThreadPerTaskExecutor()
+                    )
+                    .join();
+            Assertions.assertEquals(10, results.get(0).size());
+            Assertions.assertEquals(20, results.get(1).size());
+
+            Assertions
+                    .assertThrows(
+                            CompletionException.class,
+                            () -> engine.executeAllAsync(List.of("SELECT * FROM missing_table")).join()
+                    );
+        }
+    }
+
+    @Test
+    void testFailedAsyncQueryLeavesExecutorUninterrupted() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4)) {
+            // the caller's executor runs the failing query on the test thread
+            final CompletableFuture<Result<Record>> failed = engine
+                    .executeAsync(List.of("SELECT * FROM missing_table"), Runnable::run)
+                    .get(0);
+            Assertions.assertThrows(CompletionException.class, failed::join);
+            Assertions.assertFalse(Thread.interrupted());
+        }
+    }
+
+    @Test
+    void testFailedPublisherReleasesPermits() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "2");
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 2)) {
+            // more failing subscriptions than permits, each must give its permit back
+            for (int i = 0; i < 3; i++) {
+                final CompletableFuture<Void> completed = new CompletableFuture<>();
+                engine.publisher(List.of("SELECT * FROM missing_table")).subscribe(new Flow.Subscriber<>() {
+
+                    @Override
+                    public void onSubscribe(final Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(final Record record) {
+                    }
+
+                    @Override
+                    public void onError(final Throwable throwable) {
+                        completed.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.complete(null);
+                    }
+                });
+                final ExecutionException error = Assertions
+                        .assertThrows(ExecutionException.class, () -> completed.get(10, TimeUnit.SECONDS));
+                Assertions.assertFalse(error.getCause() instanceof CompletionException);
+            }
+
+            final List<Result<Record>> results = Assertions
+                    .assertTimeoutPreemptively(
+                            Duration.ofSeconds(10),
+                            () -> engine
+                                    .execute(
+                                            List
+                                                    .of(
+                                                            "SELECT * FROM query_engine_test WHERE id <= 10",
+                                                            "SELECT * FROM query_engine_test WHERE id <= 20",
+                                                            "SELECT * FROM query_engine_test WHERE id <= 30"
+                                                    )
+                                    )
+                    );
+            Assertions.assertEquals(30, results.get(2).size());
+        }
+    }
+
+    @Test
+    void testQueryGraph() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+
+        final QueryGraph graph = new QueryGraph(
+                List
+                        .of(
+                                new QueryNode("ids", "SELECT id FROM query_engine_test WHERE id <= 5"),
+                                new QueryNode(
+                                        "names",
+                                        "SELECT * FROM query_engine_test WHERE id IN (?) ORDER BY id",
+                                        List.of("ids"),
+                                        upstream -> new Object[] {
+                                                DSL
+                                                        .list(
+                                                                upstream
+                                                                        .get("ids")
+                                                                        .getValues("ID", Integer.class)
+                                                                        .stream()
+                                                                        .map(DSL::val)
+                                                                        .toList()
+                                                        )
+                                        }
+                                ),
+                                new QueryNode(
+                                        "count",
+                                        "SELECT COUNT(*) AS c FROM query_engine_test WHERE id > ?",
+                                        List.of("names"),
+                                        upstream -> new Object[] {
+                                                upstream.get("names").size()
+                                        }
+                                ),
+                                new QueryNode("independent", "SELECT * FROM query_engine_test WHERE id > 990")
+                        )
+        );
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4)) {
+            final Map<String, Result<Record>> results = engine.executeGraph(graph);
+            Assertions.assertEquals(5, results.get("names").size());
+            Assertions.assertEquals("Name5", results.get("names").get(4).get("NAME", String.class));
+            Assertions.assertEquals(995, results.get("count").get(0).get("C", Integer.class));
+            Assertions.assertEquals(10, results.get("independent").size());
+
+            Assertions
+                    .assertThrows(
+                            ThreadRuntimeException.class,
+                            () -> engine
+                                    .executeGraph(
+                                            new QueryGraph(
+                                                    List
+                                                            .of(
+                                                                    new QueryNode("missing", "SELECT * FROM missing"),
+                                                                    new QueryNode(
+                                                                            "after",
+                                                                            "SELECT ?",
+                                                                            List.of("missing"),
+                                                                            upstream -> new Object[] {
+                                                                                    1
+                                                                            }
+                                                                    )
+                                                            )
+                                            )
+                                    )
+                    );
+        }
+    }
+
+    @Test
+    void testScheduledExecution() throws InterruptedException {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "1");
+
+        final List<String> bulk = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            bulk.add("SELECT * FROM query_engine_test WHERE id = " + i);
+        }
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 2)) {
+            final FairScheduler scheduler = engine.scheduler(List.of());
+            Assertions.assertEquals(1, scheduler.capacity());
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            scheduler.executor("maintenance", Priority.BULK).execute(() -> {
+                started.countDown();
+                Assertions.assertDoesNotThrow(() -> release.await());
+            });
+            started.await();
+
+            final CompletableFuture<List<Result<Record>>> export = CompletableFuture
+                    .supplyAsync(() -> engine.executeOn(bulk, scheduler.executor("export", Priority.BULK)));
+            while (scheduler.waiting() < bulk.size()) {
+                Thread.sleep(10);
+            }
+            final CompletableFuture<List<Result<Record>>> dashboard = CompletableFuture
+                    .supplyAsync(
+                            () -> engine
+                                    .executeOn(
+                                            List.of("SELECT * FROM query_engine_test WHERE id <= 3"),
+                                            scheduler.executor("dashboard", Priority.INTERACTIVE)
+                                    )
+                    );
+            while (scheduler.waiting() < bulk.size() + 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            Assertions.assertEquals(3, dashboard.join().get(0).size());
+            // the interactive query overtook the bulk queries that were waiting before it
+            Assertions.assertFalse(export.isDone());
+            Assertions.assertEquals(50, export.join().size());
+
+            try (final ExecutorService pool = Executors.newFixedThreadPool(2)) {
+                final FairScheduler oversized = new FairScheduler(pool, 2);
+                Assertions
+                        .assertThrows(
+                                IllegalArgumentException.class,
+                                () -> engine.executeOn(bulk, oversized.executor("export", Priority.BULK))
+                        );
+            }
+        }
+    }
+
+    @Test
+    void testBulkheads() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "4");
+
+        final List<String> queries = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            queries.add("SELECT * FROM query_engine_test WHERE id = " + i);
+        }
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 4)) {
+            // one connection of the pool always stays for queries without bulkhead
+            Assertions
+                    .assertThrows(
+                            IllegalArgumentException.class,
+                            () -> engine.bulkheads(List.of(new Bulkhead("all", 4, 1)))
+                    );
+            try (
+                    final ExecutorService callerExecutor = Executors.newSingleThreadExecutor();
+                    final Bulkheads bulkheads = engine.bulkheads(
+                            List
+                                    .of(
+                                            new Bulkhead("interactive", 2, 2),
+                                            new Bulkhead("reporting", 1, callerExecutor)
+                                    )
+                    )
+            ) {
+                final List<Result<Record>> results = engine.executeInBulkhead(queries, bulkheads, "reporting");
+                Assertions.assertEquals(100, results.size());
+                Assertions.assertEquals(100, results.get(99).get(0).get("ID", Integer.class));
+
+                final Bulkhead reporting = bulkheads.bulkhead("reporting");
+                Assertions.assertEquals(100, reporting.acquisitions());
+                Assertions.assertEquals(1, reporting.peakInUse());
+                Assertions.assertEquals(0, reporting.inUse());
+                Assertions.assertEquals(0, bulkheads.bulkhead("interactive").acquisitions());
+                Assertions.assertEquals(100, engine.execute(queries).size());
+
+                Assertions
+                        .assertThrows(
+                                IllegalArgumentException.class,
+                                () -> engine.executeInBulkhead(queries, bulkheads, "batch")
+                        );
+                // the open bulkheads already reserve all they may
+                Assertions
+                        .assertThrows(
+                                IllegalArgumentException.class,
+                                () -> engine.bulkheads(List.of(new Bulkhead("second", 1, 1)))
+                        );
+                try (final Bulkheads foreign = new Bulkheads(List.of(new Bulkhead("foreign", 1, 1)))) {
+                    Assertions
+                            .assertThrows(
+                                    IllegalArgumentException.class,
+                                    () -> engine.executeInBulkhead(queries, foreign, "foreign")
+                            );
+                }
+                bulkheads.close();
+                Assertions.assertFalse(callerExecutor.isShutdown());
+            }
+            try (final Bulkheads again = engine.bulkheads(List.of(new Bulkhead("second", 3, 1)))) {
+                Assertions.assertEquals(3, again.connections());
+            }
+        }
+    }
+
+    @Test
+    void testBulkheadReservationTimesOut() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "2");
+        optionsMap.put("connectionTimeout", "250");
+
+        try (final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 2)) {
+            ConcurrencyProbe.reset();
+            final List<CompletableFuture<Result<Record>>> running = engine
+                    .executeAsync(List.of("SELECT PROBE(2000)", "SELECT PROBE(2000)"));
+            // both connection permits are held once both queries run in the database
+            while (ConcurrencyProbe.peak() < 2) {
+                Thread.onSpinWait();
+            }
+            Assertions
+                    .assertThrows(
+                            IllegalStateException.class,
+                            () -> engine.bulkheads(List.of(new Bulkhead("late", 1, 1)))
+                    );
+            for (final CompletableFuture<Result<Record>> future : running) {
+                future.join();
+            }
+            try (final Bulkheads bulkheads = engine.bulkheads(List.of(new Bulkhead("late", 1, 1)))) {
+                Assertions.assertEquals(1, bulkheads.connections());
+            }
+        }
+    }
+
+    @Test
+    void testBulkheadIsolation() {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "4");
+
+        final List<String> slow = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            slow.add("SELECT SLEEP_MS(300)");
+        }
+        final List<String> flood = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            flood.add("SELECT SLEEP_MS(300)");
+        }
+        final List<String> fast = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            fast.add("SELECT * FROM query_engine_test WHERE id = " + i);
+        }
+
+        try (
+                final QueryEngine engine = new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 16);
+                final Bulkheads bulkheads = engine.bulkheads(
+                        List.of(new Bulkhead("interactive", 1, 2), new Bulkhead("reporting", 1, 2))
+                );
+                final ExecutorService callers = Executors.newFixedThreadPool(2)
+        ) {
+            final Bulkhead reporting = bulkheads.bulkhead("reporting");
+            final CompletableFuture<List<Result<Record>>> report = CompletableFuture
+                    .supplyAsync(() -> engine.executeInBulkhead(slow, bulkheads, "reporting"), callers);
+            final CompletableFuture<List<Result<Record>>> unbulkheaded = CompletableFuture
+                    .supplyAsync(() -> engine.execute(flood), callers);
+            final long deadline = System.nanoTime() + 5_000_000_000L;
+            while (reporting.inUse() == 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            Assertions.assertEquals(1, reporting.inUse());
+
+            // reporting is saturated and the other queries queue for the two connections left, interactive
+            // still runs on its reserved connection
+            final List<Result<Record>> results = engine.executeInBulkhead(fast, bulkheads, "interactive");
+            Assertions.assertEquals(5, results.size());
+            Assertions.assertFalse(report.isDone());
+            Assertions.assertFalse(unbulkheaded.isDone());
+
+            Assertions.assertEquals(4, report.join().size());
+            Assertions.assertEquals(16, unbulkheaded.join().size());
+            Assertions.assertEquals(1, reporting.peakInUse());
+            Assertions.assertEquals(4, reporting.acquisitions());
+            Assertions.assertEquals(5, bulkheads.bulkhead("interactive").acquisitions());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.cache;
+
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+final class ResultCacheTest {
+
+    private final DSLContext ctx = DSL.using(SQLDialect.H2);
+    private final Field<Integer> id = DSL.field("ID", SQLDataType.INTEGER);
+    private final Field<String> name = DSL.field("NAME", SQLDataType.VARCHAR);
+    private final Field<?>[] fields = {
+            id, name
+    };
+
+    private Result<Record> result(final int rows) {
+        final Result<Record> result = ctx.newResult(fields);
+        for (int i = 1; i <= rows; i++) {
+            final Record record = ctx.newRecord(fields);
+            record.set(id, i);
+            record.set(name, "Name" + i);
+            result.add(record);
+        }
+        return result;
+    }
+
+    @Test
+    void testHitReturnsCopy() {
+        final ResultCache cache = new ResultCache(1_000_000, Duration.ofMinutes(1));
+        final QueryKey key = new QueryKey("test", SQLDialect.H2, "SELECT * FROM cache_test");
+        Assertions.assertTrue(cache.result(key).isEmpty());
+
+        cache.put(key, result(10));
+        final Optional<Result<Record>> cached = cache
+                .result(new QueryKey("test", SQLDialect.H2, "  SELECT *\n FROM   cache_test;"));
+        Assertions.assertTrue(cached.isPresent());
+        Assertions.assertEquals(10, cached.get().size());
+
+        cached.get().get(0).set(name, "Changed");
+        Assertions.assertEquals("Name1", cache.result(key).orElseThrow().get(0).get(name));
+        Assertions.assertEquals(2, cache.hits());
+        Assertions.assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void testLiteralsAreNotNormalized() {
+        Assertions
+                .assertNotEquals(
+                        new QueryKey("test", SQLDialect.H2, "SELECT 'a  b'"),
+                        new QueryKey("test", SQLDialect.H2, "SELECT 'a b'")
+                );
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedOverByteBudget() {
+        final long resultBytes = new ResultSize(result(100)).bytes();
+        final ResultCache cache = new ResultCache(resultBytes * 2, Duration.ofMinutes(1));
+        final QueryKey first = new QueryKey("test", SQLDialect.H2, "SELECT 1");
+        final QueryKey second = new QueryKey("test", SQLDialect.H2, "SELECT 2");
+        final QueryKey third = new QueryKey("test", SQLDialect.H2, "SELECT 3");
+
+        cache.put(first, result(100));
+        cache.put(second, result(100));
+        Assertions.assertTrue(cache.result(first).isPresent());
+        cache.put(third, result(100));
+
+        Assertions.assertTrue(cache.result(first).isPresent());
+        Assertions.assertTrue(cache.result(second).isEmpty());
+        Assertions.assertTrue(cache.result(third).isPresent());
+        Assertions.assertEquals(1, cache.evictions());
+        Assertions.assertTrue(cache.bytes() <= resultBytes * 2);
+    }
+
+    @Test
+    void testExpiredEntryIsMiss() {
+        final ResultCache cache = new ResultCache(1_000_000, Duration.ofMinutes(1));
+        final QueryKey key = new QueryKey("test", SQLDialect.H2, "SELECT 1");
+        cache.put(key, result(1), Duration.ZERO);
+        Assertions.assertTrue(cache.result(key).isEmpty());
+        Assertions.assertEquals(0, cache.bytes());
+    }
+}
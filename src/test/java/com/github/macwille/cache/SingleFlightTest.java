@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.cache;
+
+import com.github.macwille.queries.CallableQuery;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class SingleFlightTest {
+
+    @Test
+    void testConcurrentIdenticalQueriesRunOnce() throws Exception {
+        final SingleFlight flights = new SingleFlight();
+        final QueryKey key = new QueryKey("test", SQLDialect.H2, "SELECT 1");
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CallableQuery query = () -> {
+            executions.incrementAndGet();
+            release.await();
+            return DSL.using(SQLDialect.H2).newResult();
+        };
+
+        final List<Future<Result<Record>>> futures = new ArrayList<>();
+        try (final ExecutorService executorService = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(new SharedQuery(flights, key, query)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (final Future<Result<Record>> future : futures) {
+                Assertions.assertNotNull(future.get());
+            }
+        }
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testFailureReachesEveryWaiter() throws Exception {
+        failureReachesWaiter(new IllegalStateException("failed"));
+    }
+
+    @Test
+    void testErrorReachesEveryWaiter() throws Exception {
+        failureReachesWaiter(new StackOverflowError("failed"));
+    }
+
+    private void failureReachesWaiter(final Throwable failure) throws Exception {
+        final SingleFlight flights = new SingleFlight();
+        final QueryKey key = new QueryKey("test", SQLDialect.H2, "SELECT 1");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CallableQuery leader = () -> {
+            started.countDown();
+            release.await();
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw (Exception) failure;
+        };
+        final AtomicInteger waiterExecutions = new AtomicInteger();
+        final CallableQuery waiter = () -> {
+            waiterExecutions.incrementAndGet();
+            return DSL.using(SQLDialect.H2).newResult();
+        };
+
+        final AtomicReference<Throwable> leaderFailure = new AtomicReference<>();
+        final AtomicReference<Throwable> waiterFailure = new AtomicReference<>();
+        final Thread leaderThread = new Thread(() -> leaderFailure.set(failure(() -> flights.result(key, leader))));
+        leaderThread.start();
+        started.await();
+        final Thread waiterThread = new Thread(() -> waiterFailure.set(failure(() -> flights.result(key, waiter))));
+        waiterThread.start();
+        while (waiterThread.getState() != Thread.State.WAITING && waiterThread.isAlive()) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        leaderThread.join(5000);
+        waiterThread.join(5000);
+
+        Assertions.assertFalse(waiterThread.isAlive());
+        Assertions.assertSame(failure, leaderFailure.get());
+        Assertions.assertSame(failure, waiterFailure.get());
+        Assertions.assertEquals(0, waiterExecutions.get());
+    }
+
+    @Test
+    void testWaiterRunsQueryWhenLeaderIsCancelled() throws Exception {
+        final SingleFlight flights = new SingleFlight();
+        final QueryKey key = new QueryKey("test", SQLDialect.H2, "SELECT 1");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final IllegalStateException cancellation = new IllegalStateException("statement cancelled");
+        final SharedQuery leader = new SharedQuery(flights, key, () -> {
+            started.countDown();
+            release.await();
+            throw cancellation;
+        });
+        final AtomicInteger waiterExecutions = new AtomicInteger();
+        final SharedQuery waiter = new SharedQuery(flights, key, () -> {
+            waiterExecutions.incrementAndGet();
+            return DSL.using(SQLDialect.H2).newResult();
+        });
+
+        final AtomicReference<Throwable> leaderFailure = new AtomicReference<>();
+        final AtomicReference<Throwable> waiterFailure = new AtomicReference<>();
+        final Thread leaderThread = new Thread(() -> leaderFailure.set(failure(leader)));
+        leaderThread.start();
+        started.await();
+        final Thread waiterThread = new Thread(() -> waiterFailure.set(failure(waiter)));
+        waiterThread.start();
+        while (waiterThread.getState() != Thread.State.WAITING && waiterThread.isAlive()) {
+            Thread.sleep(10);
+        }
+        leader.cancel();
+        release.countDown();
+        leaderThread.join(5000);
+        waiterThread.join(5000);
+
+        Assertions.assertFalse(waiterThread.isAlive());
+        Assertions.assertSame(cancellation, leaderFailure.get());
+        Assertions.assertNull(waiterFailure.get());
+        Assertions.assertEquals(1, waiterExecutions.get());
+    }
+
+    private Throwable failure(final Callable<Result<Record>> call) {
+        try {
+            call.call();
+            return null;
+        }
+        catch (final Throwable e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.columnar;
+
+import com.github.macwille.QueryEngine;
+import com.github.macwille.ThreadRuntimeException;
+import com.github.macwille.cache.ResultSize;
+import com.github.macwille.metrics.InMemoryQueryMetrics;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.tools.SimpleResultSet;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+@TestInstance(Lifecycle.PER_CLASS)
+final class ColumnarQueryTest {
+
+    private HikariDataSource hikariDataSource;
+    private Configuration configuration;
+    private final String url = "jdbc:h2:mem:testdb7;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @BeforeAll
+    void setUp() {
+        final Connection setupConn = Assertions.assertDoesNotThrow(() -> DriverManager.getConnection(url));
+
+        Assertions.assertDoesNotThrow(() -> {
+            try (final Statement stmt = setupConn.createStatement()) {
+                stmt
+                        .execute(
+                                "CREATE TABLE columnar_test (id INT PRIMARY KEY, total BIGINT, ratio DOUBLE, "
+                                        + "category VARCHAR(255), price DECIMAL(10, 2));"
+                        );
+                stmt.execute(
+                        "CREATE ALIAS SLEEP_MS AS 'int sleep(int ms) throws Exception { Thread.sleep(ms); return ms; }'"
+                );
+                for (int i = 1; i <= 10000; i++) {
+                    final String ratio = i % 10 == 0 ? "NULL" : String.valueOf(i / 4.0);
+                    stmt
+                            .execute(
+                                    "INSERT INTO columnar_test VALUES (" + i + ", " + (i * 1_000_000_000L) + ", "
+                                            + ratio + ", 'Category" + (i % 5) + "', " + i + ".25);"
+                            );
+                }
+            }
+        });
+
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(2);
+        hikariDataSource = new HikariDataSource(hikariConfig);
+        configuration = new DefaultConfiguration().derive(hikariDataSource).derive(SQLDialect.H2);
+    }
+
+    @AfterAll
+    void tearDown() {
+        Assertions.assertDoesNotThrow(() -> hikariDataSource.close());
+    }
+
+    @Test
+    void testTypedColumns() {
+        final ColumnarResult result = new ColumnarQuery(configuration, "SELECT * FROM columnar_test ORDER BY id")
+                .call();
+        Assertions.assertEquals(10000, result.rows());
+        Assertions.assertEquals(5, result.columns());
+
+        Assertions.assertEquals(1, result.column("ID").intValue(0));
+        Assertions.assertEquals(10_000_000_000_000L, result.column(1).longValue(9999));
+        Assertions.assertEquals(0.25, result.column("RATIO").doubleValue(0));
+        Assertions.assertTrue(result.isNull(9, 2));
+        Assertions.assertNull(result.value(9, 2));
+        Assertions.assertEquals("Category1", result.column("CATEGORY").stringValue(0));
+        Assertions.assertEquals(5, ((DictionaryColumn) result.column("CATEGORY")).distinctValues());
+        Assertions.assertEquals(new BigDecimal("1.25"), result.value(0, 4));
+        Assertions.assertEquals(125, ((DecimalColumn) result.column("PRICE")).unscaledValue(0));
+        Assertions.assertEquals(10000.25, result.column("PRICE").doubleValue(9999));
+        Assertions.assertThrows(IllegalStateException.class, () -> result.column("CATEGORY").intValue(0));
+    }
+
+    @Test
+    void testConvertsToResult() {
+        final DSLContext ctx = DSL.using(configuration);
+        final String sql = "SELECT * FROM columnar_test ORDER BY id";
+        final Result<Record> expected = ctx.fetch(sql);
+        final ColumnarResult columnar = new ColumnarQuery(configuration, sql).call();
+
+        final Result<Record> result = columnar.result(ctx);
+        Assertions.assertEquals(expected.size(), result.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertArrayEquals(expected.get(i).intoArray(), result.get(i).intoArray());
+        }
+        Assertions.assertTrue(columnar.bytes() < new ResultSize(expected).bytes() / 2);
+    }
+
+    @Test
+    void testTimeoutAndCancellation() {
+        final Configuration timed = configuration.derive(new Settings().withQueryTimeout(1));
+        final String scan = "SELECT SUM(X) FROM SYSTEM_RANGE(1, 10000000000)";
+        final long started = System.nanoTime();
+        final ThreadRuntimeException timedOut = Assertions
+                .assertThrows(ThreadRuntimeException.class, () -> new ColumnarQuery(timed, scan).call());
+        Assertions.assertTrue(System.nanoTime() - started < 10_000_000_000L);
+        Throwable cause = timedOut;
+        while (cause != null && !(cause instanceof SQLTimeoutException)) {
+            cause = cause.getCause();
+        }
+        Assertions.assertNotNull(cause, "Expected an SQLTimeoutException in " + timedOut);
+
+        final ColumnarQuery cancelled = new ColumnarQuery(configuration, scan);
+        cancelled.cancel();
+        Assertions.assertThrows(CancellationException.class, cancelled::call);
+    }
+
+    @Test
+    void testMeasuredInEngine() {
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(2);
+        final InMemoryQueryMetrics metrics = new InMemoryQueryMetrics();
+        try (
+                final QueryEngine engine = new QueryEngine(
+                        new HikariDataSource(hikariConfig),
+                        SQLDialect.H2,
+                        Executors.newFixedThreadPool(2),
+                        metrics
+                )
+        ) {
+            final List<ColumnarResult> results = engine
+                    .executeColumnar(
+                            List.of("SELECT * FROM columnar_test", "SELECT * FROM columnar_test WHERE id <= 10")
+                    );
+            Assertions.assertEquals(10, results.get(1).rows());
+        }
+        Assertions.assertEquals(2, metrics.execution().count());
+        Assertions.assertEquals(10010, metrics.rows());
+        Assertions.assertEquals(1, metrics.wallTime().count());
+    }
+
+    @Test
+    void testDeadlineAndFailureCancelRunningQueries() {
+        // H2 keeps scanning when its thread is interrupted, only Statement.cancel() stops it
+        final String scan = "SELECT SUM(X) FROM SYSTEM_RANGE(1, 10000000000)";
+        try (final ExecutorService executorService = Executors.newFixedThreadPool(2)) {
+            final long started = System.nanoTime();
+            final ThreadRuntimeException timedOut = Assertions
+                    .assertThrows(
+                            ThreadRuntimeException.class,
+                            () -> new ParallelColumnarQueryList(
+                                    List.of(new ColumnarQuery(configuration, scan)),
+                                    UnaryOperator.identity(),
+                                    executorService,
+                                    Duration.ofMillis(300)
+                            ).resultList()
+                    );
+            Assertions.assertInstanceOf(TimeoutException.class, timedOut.getCause());
+
+            Assertions
+                    .assertThrows(
+                            ThreadRuntimeException.class,
+                            () -> new ParallelColumnarQueryList(
+                                    List
+                                            .of(
+                                                    new ColumnarQuery(configuration, scan),
+                                                    new ColumnarQuery(
+                                                            configuration,
+                                                            "SELECT CAST(CONCAT('x', SLEEP_MS(200)) AS INT)"
+                                                    )
+                                            ),
+                                    executorService
+                            ).resultList()
+                    );
+            // both runs wait for the scan to return, so it was stopped by cancelling its statement
+            Assertions.assertTrue(System.nanoTime() - started < 30_000_000_000L);
+        }
+    }
+
+    @Test
+    void testDecimalOutsideReportedScaleKeptAsObjects() throws SQLException {
+        final List<Column> fitting = new ResultSetColumns(decimals(new BigDecimal("1.5"))).columns();
+        Assertions.assertInstanceOf(DecimalColumn.class, fitting.get(0));
+
+        final List<Column> columns = new ResultSetColumns(
+                decimals(new BigDecimal("1.5"), new BigDecimal("1.25"), null)
+        ).columns();
+        Assertions.assertInstanceOf(ObjectColumn.class, columns.get(0));
+        Assertions.assertEquals(new BigDecimal("1.5"), columns.get(0).value(0));
+        Assertions.assertEquals(new BigDecimal("1.25"), columns.get(0).value(1));
+        Assertions.assertTrue(columns.get(0).isNull(2));
+    }
+
+    /**
+     * Result set reporting DECIMAL(4, 1), whatever the scale of the values.
+     */
+    private static ResultSet decimals(final BigDecimal... values) {
+        final SimpleResultSet resultSet = new SimpleResultSet();
+        resultSet.addColumn("PRICE", Types.DECIMAL, 4, 1);
+        for (final BigDecimal value : values) {
+            resultSet.addRow(value);
+        }
+        return resultSet;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dag;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+final class QueryGraphTest {
+
+    @Test
+    void testDependenciesComeFirst() {
+        final List<QueryNode> ordered = new QueryGraph(
+                List
+                        .of(
+                                new QueryNode("b", "SELECT ?", List.of("a"), upstream -> new Object[] {
+                                        upstream.get("a").size()
+                                }),
+                                new QueryNode("c", "SELECT 1"),
+                                new QueryNode("a", "SELECT 2")
+                        )
+        ).ordered();
+        Assertions.assertEquals(3, ordered.size());
+        Assertions.assertEquals("b", ordered.get(2).name());
+    }
+
+    @Test
+    void testInvalidGraphs() {
+        Assertions
+                .assertThrows(
+                        IllegalArgumentException.class,
+                        () -> new QueryGraph(List.of(new QueryNode("a", "SELECT 1"), new QueryNode("a", "SELECT 2")))
+                                .ordered()
+                );
+        Assertions
+                .assertThrows(
+                        IllegalArgumentException.class,
+                        () -> new QueryGraph(List.of(new QueryNode("a", "SELECT 1", List.of("x"), upstream -> null)))
+                                .ordered()
+                );
+        Assertions
+                .assertThrows(
+                        IllegalArgumentException.class,
+                        () -> new QueryGraph(
+                                List
+                                        .of(
+                                                new QueryNode("a", "SELECT 1", List.of("b"), upstream -> null),
+                                                new QueryNode("b", "SELECT 1", List.of("a"), upstream -> null)
+                                        )
+                        ).ordered()
+                );
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dag;
+
+import com.github.macwille.queries.CallableQuery;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class ScheduledGraphTest {
+
+    @Test
+    void testFailureDuringSchedulingCancelsLaterNodes() {
+        final AtomicInteger started = new AtomicInteger();
+        // runs every node on the scheduling thread, so "broken" fails before "late" is scheduled
+        final CompletableFuture<Map<String, Result<Record>>> results = new ScheduledGraph(
+                new QueryGraph(List.of(new QueryNode("broken", "SELECT 1"), new QueryNode("late", "SELECT 2"))),
+                Runnable::run,
+                (sql, bindings) -> new CallableQuery() {
+
+                    @Override
+                    public Result<Record> call() {
+                        started.incrementAndGet();
+                        throw new IllegalStateException("Failed <" + sql + ">");
+                    }
+                }
+        ).results();
+
+        final CompletionException failure = Assertions.assertThrows(CompletionException.class, results::join);
+        Assertions.assertInstanceOf(IllegalStateException.class, failure.getCause());
+        Assertions.assertEquals(1, started.get());
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.dml;
+
+import com.github.macwille.ThreadRuntimeException;
+import com.github.macwille.queries.QueryStatus;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jooq.Configuration;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@TestInstance(Lifecycle.PER_CLASS)
+final class ParallelBatchListTest {
+
+    private HikariDataSource hikariDataSource;
+    private Configuration configuration;
+    private DSLContext ctx;
+    private final String url = "jdbc:h2:mem:testdb8;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @BeforeAll
+    void setUp() {
+        final Connection setupConn = Assertions.assertDoesNotThrow(() -> DriverManager.getConnection(url));
+        Assertions.assertDoesNotThrow(() -> {
+            try (final Statement stmt = setupConn.createStatement()) {
+                stmt.execute("CREATE TABLE batch_test (id INT PRIMARY KEY, name VARCHAR(255));");
+            }
+        });
+
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(4);
+        hikariDataSource = new HikariDataSource(hikariConfig);
+        configuration = new DefaultConfiguration().derive(hikariDataSource).derive(SQLDialect.H2);
+        ctx = DSL.using(configuration);
+    }
+
+    @BeforeEach
+    void clear() {
+        ctx.execute("DELETE FROM batch_test");
+    }
+
+    @AfterAll
+    void tearDown() {
+        Assertions.assertDoesNotThrow(() -> hikariDataSource.close());
+    }
+
+    @Test
+    void testParameterizedRows() {
+        final List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            rows.add(new Object[] {
+                    i, "Name" + i
+            });
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            final int[] counts = new ParallelBatchList(
+                    new ParameterizedBatches(configuration, "INSERT INTO batch_test VALUES (?, ?)", rows, 64, true)
+                            .batches(),
+                    executor
+            ).updateCounts();
+            Assertions.assertEquals(1000, counts.length);
+            Assertions.assertTrue(Arrays.stream(counts).allMatch(count -> count == 1));
+        }
+        Assertions.assertEquals(1000, ctx.fetchCount(DSL.table("batch_test")));
+        Assertions.assertEquals("Name500", ctx.fetchValue("SELECT name FROM batch_test WHERE id = 500"));
+    }
+
+    @Test
+    void testStatementsAndRollback() {
+        final List<String> statements = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            statements.add("INSERT INTO batch_test VALUES (" + i + ", 'Name" + i + "')");
+        }
+        statements.add("UPDATE batch_test SET name = 'Updated' WHERE id <= 10");
+        // duplicate key fails the last batch
+        statements.add("INSERT INTO batch_test VALUES (1, 'Duplicate')");
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            final int[] counts = new ParallelBatchList(
+                    new StatementBatches(configuration, statements.subList(0, 21), 10, true).batches(),
+                    executor
+            ).updateCounts();
+            Assertions.assertEquals(21, counts.length);
+            Assertions.assertEquals(10, counts[20]);
+
+            final List<String> lost = List.of("UPDATE batch_test SET name = 'Lost'", statements.get(21));
+            final List<CallableBatch> failing = List.of(new StatementBatch(configuration, lost, true));
+            Assertions
+                    .assertThrows(
+                            ThreadRuntimeException.class,
+                            () -> new ParallelBatchList(failing, executor).updateCounts()
+                    );
+        }
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+        Assertions.assertEquals(20, ctx.fetchCount(DSL.table("batch_test")));
+        Assertions.assertEquals("Name15", ctx.fetchValue("SELECT name FROM batch_test WHERE id = 15"));
+    }
+
+    @Test
+    void testOutcomesOfPartialFailure() {
+        final List<String> statements = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            statements.add("INSERT INTO batch_test VALUES (" + i + ", 'Name" + i + "')");
+        }
+        // duplicate key fails the second batch after its first statements were applied
+        statements.set(15, "INSERT INTO batch_test VALUES (11, 'Duplicate')");
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            final List<BatchOutcome> outcomes = new ParallelBatchList(
+                    new StatementBatches(configuration, statements, 10, false).batches(),
+                    executor
+            ).outcomes();
+            Assertions.assertEquals(3, outcomes.size());
+            Assertions.assertEquals(QueryStatus.SUCCEEDED, outcomes.get(0).status());
+            Assertions.assertEquals(QueryStatus.FAILED, outcomes.get(1).status());
+            Assertions.assertTrue(outcomes.get(1).error().isPresent());
+            Assertions.assertEquals(QueryStatus.SUCCEEDED, outcomes.get(2).status());
+            Assertions.assertEquals(10, outcomes.get(2).updateCounts().orElseThrow().length);
+        }
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+        Assertions.assertEquals("Name30", ctx.fetchValue("SELECT name FROM batch_test WHERE id = 30"));
+        Assertions.assertEquals("Name11", ctx.fetchValue("SELECT name FROM batch_test WHERE id = 11"));
+    }
+}
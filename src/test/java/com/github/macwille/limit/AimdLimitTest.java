@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.limit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class AimdLimitTest {
+
+    @Test
+    void testGrowsWhileLatencyIsFlatAndBacksOff() throws InterruptedException {
+        final AimdLimit limit = new AimdLimit(2, 8);
+        for (int i = 0; i < 20; i++) {
+            final int slots = limit.limit();
+            for (int slot = 0; slot < slots; slot++) {
+                limit.acquire();
+            }
+            for (int slot = 0; slot < slots; slot++) {
+                limit.release(1_000_000, false);
+            }
+        }
+        Assertions.assertEquals(8, limit.limit());
+
+        // a single slow query is an outlier, a second one in a row raises the short average over the tolerance
+        limit.acquire();
+        limit.release(10_000_000, false);
+        Assertions.assertEquals(8, limit.limit());
+        limit.acquire();
+        limit.release(10_000_000, false);
+        Assertions.assertEquals(7, limit.limit());
+
+        for (int i = 0; i < 30; i++) {
+            limit.acquire();
+            limit.release(1_000_000, true);
+        }
+        Assertions.assertEquals(1, limit.limit());
+        Assertions.assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    void testMixedLatencyWithoutOverloadKeepsGrowing() throws InterruptedException {
+        final AimdLimit limit = new AimdLimit(2, 8);
+        for (int i = 0; i < 200; i++) {
+            final int slots = limit.limit();
+            for (int slot = 0; slot < slots; slot++) {
+                limit.acquire();
+            }
+            for (int slot = 0; slot < slots; slot++) {
+                limit.release(slot % 3 == 0 ? 20_000_000 : 1_000_000, false);
+            }
+        }
+        Assertions.assertEquals(8, limit.limit());
+    }
+
+    @Test
+    void testInFlightStaysWithinLimit() throws Exception {
+        final AimdLimit limit = new AimdLimit(1, 4);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger highest = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> {
+                    limit.acquire();
+                    final long start = System.nanoTime();
+                    highest.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    TimeUnit.MILLISECONDS.sleep(1);
+                    running.decrementAndGet();
+                    limit.release(System.nanoTime() - start, false);
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        }
+        Assertions.assertTrue(highest.get() <= 4);
+        Assertions.assertTrue(highest.get() > 1);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesWithinRelativeError() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        Assertions.assertEquals(10000, histogram.count());
+        Assertions.assertEquals(10_000_000, histogram.max());
+        Assertions.assertEquals(5_000_000, histogram.percentile(50), 5_000_000 * 0.04);
+        Assertions.assertEquals(9_500_000, histogram.percentile(95), 9_500_000 * 0.04);
+        Assertions.assertEquals(9_900_000, histogram.percentile(99), 9_900_000 * 0.04);
+        Assertions.assertEquals(10_000_000, histogram.percentile(100));
+    }
+
+    @Test
+    void testSmallAndEmptyValues() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.percentile(99));
+        histogram.record(-5);
+        histogram.record(3);
+        Assertions.assertEquals(0, histogram.percentile(50));
+        Assertions.assertEquals(3, histogram.percentile(100));
+    }
+}
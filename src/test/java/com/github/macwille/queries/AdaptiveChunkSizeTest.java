@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class AdaptiveChunkSizeTest {
+
+    @Test
+    void testSizeFollowsQueryDuration() {
+        final AdaptiveChunkSize chunkSize = new AdaptiveChunkSize(5_000_000L, 256);
+        Assertions.assertEquals(4, chunkSize.next(10_000, 4));
+
+        chunkSize.record(10, 1_000_000L);
+        Assertions.assertEquals(50, chunkSize.next(10_000, 4));
+
+        for (int i = 0; i < 50; i++) {
+            chunkSize.record(1, 10_000_000L);
+        }
+        Assertions.assertEquals(1, chunkSize.next(10_000, 4));
+    }
+
+    @Test
+    void testSizeKeepsWorkersBusy() {
+        final AdaptiveChunkSize chunkSize = new AdaptiveChunkSize(5_000_000L, 256);
+        chunkSize.record(1000, 1_000_000L);
+        Assertions.assertEquals(256, chunkSize.next(100_000, 4));
+        Assertions.assertEquals(25, chunkSize.next(100, 4));
+        Assertions.assertEquals(1, chunkSize.next(3, 4));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.github.macwille.ThreadRuntimeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class ParallelCallsTest {
+
+    @Test
+    void testValuesInInputOrder() {
+        try (final ExecutorService executorService = Executors.newFixedThreadPool(2)) {
+            final List<Callable<Integer>> calls = List.of(() -> {
+                Thread.sleep(100);
+                return 1;
+            }, () -> 2, () -> 3);
+            Assertions.assertEquals(List.of(1, 2, 3), new ParallelCalls<>(calls, executorService).values());
+        }
+    }
+
+    @Test
+    void testFailureCancelsOthersWithoutInterruptingCaller() {
+        final CountDownLatch never = new CountDownLatch(1);
+        try (final ExecutorService executorService = Executors.newFixedThreadPool(2)) {
+            final List<Callable<Integer>> calls = List.of(() -> {
+                // only returns when the failure interrupts it
+                never.await(1, TimeUnit.MINUTES);
+                return 1;
+            }, () -> {
+                throw new IllegalStateException("broken");
+            });
+            final long started = System.nanoTime();
+            final ThreadRuntimeException failed = Assertions
+                    .assertThrows(
+                            ThreadRuntimeException.class,
+                            () -> new ParallelCalls<>(calls, executorService).values()
+                    );
+            Assertions.assertInstanceOf(IllegalStateException.class, failed.getCause());
+            Assertions.assertFalse(Thread.currentThread().isInterrupted());
+            executorService.shutdown();
+            final boolean terminated = Assertions
+                    .assertDoesNotThrow(() -> executorService.awaitTermination(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(terminated);
+            Assertions.assertTrue(System.nanoTime() - started < 30_000_000_000L);
+        }
+    }
+
+    @Test
+    void testFailureCancelsThroughHookAndWaits() {
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicBoolean returned = new AtomicBoolean();
+        final CountDownLatch started = new CountDownLatch(1);
+        final List<Integer> cancelled = new CopyOnWriteArrayList<>();
+        try (final ExecutorService executorService = Executors.newFixedThreadPool(2)) {
+            final List<Callable<Integer>> calls = List.of(() -> {
+                started.countDown();
+                // ignores interrupts, like a statement only the cancel hook can stop
+                while (!stop.get()) {
+                    Thread.onSpinWait();
+                }
+                returned.set(true);
+                return 1;
+            }, () -> {
+                started.await();
+                throw new IllegalStateException("broken");
+            });
+            Assertions
+                    .assertThrows(
+                            ThreadRuntimeException.class,
+                            () -> new ParallelCalls<>(calls, index -> {
+                                cancelled.add(index);
+                                stop.set(true);
+                            }, executorService).values()
+                    );
+            Assertions.assertEquals(List.of(0), cancelled);
+            // the interrupt alone would not have stopped the call, it returned before the failure was rethrown
+            Assertions.assertTrue(returned.get());
+        }
+    }
+}
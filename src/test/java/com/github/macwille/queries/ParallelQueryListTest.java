@@ -23,6 +23,7 @@
  */
 package com.github.macwille.queries;
 
+import com.github.macwille.ThreadRuntimeException;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.jooq.Record;
@@ -33,11 +34,20 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 final class ParallelQueryListTest {
 
+    // H2 keeps scanning when its thread is interrupted, only Statement.cancel() stops it
+    private static final String SCAN = "SELECT SUM(X) FROM SYSTEM_RANGE(1, 10000000000)";
+
     private final String url = "jdbc:h2:mem:testdb2;DB_CLOSE_DELAY=-1;MODE=MySQL";
     Connection setupconnection;
 
@@ -56,6 +66,15 @@ final class ParallelQueryListTest {
                 }
             }
         });
+        Assertions.assertDoesNotThrow(() -> {
+            try (final Statement stmt = setupconnection.createStatement()) {
+                stmt
+                        .execute(
+                                "CREATE ALIAS SLEEP_MS AS "
+                                        + "'int sleep(int ms) throws Exception { Thread.sleep(ms); return ms; }'"
+                        );
+            }
+        });
     }
 
     @AfterAll
@@ -125,4 +144,168 @@ final class ParallelQueryListTest {
         }
         Assertions.assertEquals(4, loops);
     }
+
+    @Test
+    void testSkewedQueriesDoNotWaitForBatch() {
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(4);
+
+        final List<String> sqlList = List
+                .of(
+                        "SELECT SLEEP_MS(500)",
+                        "SELECT SLEEP_MS(50)",
+                        "SELECT SLEEP_MS(50)",
+                        "SELECT SLEEP_MS(50)",
+                        "SELECT SLEEP_MS(500)",
+                        "SELECT SLEEP_MS(50)",
+                        "SELECT SLEEP_MS(50)",
+                        "SELECT SLEEP_MS(50)"
+                );
+
+        try (final HikariDataSource hikariDataSource = new HikariDataSource(hikariConfig)) {
+            final List<CallableQuery> batchedQueries = new QueriesFromStrings(hikariDataSource, sqlList).queries();
+            final ParallelQueryList batched = new ParallelQueryList(
+                    new QueriesToBatches(new LinkedList<>(batchedQueries), 4),
+                    4
+            );
+            final long batchedStart = System.nanoTime();
+            Assertions.assertDoesNotThrow(batched::resultList);
+            final long batchedNanos = System.nanoTime() - batchedStart;
+
+            final List<CallableQuery> queuedQueries = new QueriesFromStrings(hikariDataSource, sqlList).queries();
+            final ParallelQueryList queued = new ParallelQueryList(queuedQueries, 4);
+            final long queuedStart = System.nanoTime();
+            final List<Result<Record>> results = Assertions.assertDoesNotThrow(queued::resultList);
+            final long queuedNanos = System.nanoTime() - queuedStart;
+
+            final List<Integer> sleeps = new ArrayList<>();
+            for (final Result<Record> result : results) {
+                sleeps.add(result.get(0).get(0, Integer.class));
+            }
+            Assertions.assertEquals(List.of(500, 50, 50, 50, 500, 50, 50, 50), sleeps);
+            Assertions
+                    .assertTrue(
+                            queuedNanos < batchedNanos,
+                            "Queued <" + queuedNanos + "> should be faster than batched <" + batchedNanos + ">"
+                    );
+        }
+    }
+
+    @Test
+    void testResultsInCompletionOrder() {
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(3);
+
+        try (
+                final HikariDataSource hikariDataSource = new HikariDataSource(hikariConfig);
+                final ExecutorService executorService = Executors.newFixedThreadPool(3)
+        ) {
+            final List<CallableQuery> queryList = new QueriesFromStrings(
+                    hikariDataSource,
+                    List.of("SELECT SLEEP_MS(600)", "SELECT SLEEP_MS(10)", "SELECT SLEEP_MS(300)")
+            ).queries();
+
+            final List<Integer> indexes = new ArrayList<>();
+            new CompletedQueries(queryList, executorService).forEachRemaining(indexedResult -> {
+                indexes.add(indexedResult.index());
+                Assertions.assertEquals(1, indexedResult.result().size());
+            });
+            Assertions.assertEquals(List.of(1, 2, 0), indexes);
+        }
+    }
+
+    @Test
+    void testDeadlineCancelsRunningQueries() {
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(3);
+
+        try (
+                final HikariDataSource hikariDataSource = new HikariDataSource(hikariConfig);
+                final ExecutorService executorService = Executors.newFixedThreadPool(3)
+        ) {
+            final AtomicIntegerArray cancels = new AtomicIntegerArray(3);
+            final List<CallableQuery> queryList = counted(
+                    new QueriesFromStrings(
+                            hikariDataSource,
+                            List.of("SELECT SLEEP_MS(10)", SCAN, "SELECT SLEEP_MS(10)")
+                    ).queries(),
+                    cancels
+            );
+
+            final long start = System.nanoTime();
+            final List<QueryOutcome> outcomes = new ParallelQueryList(
+                    queryList,
+                    executorService,
+                    Duration.ofMillis(500)
+            ).outcomes();
+            final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            Assertions.assertEquals(QueryStatus.SUCCEEDED, outcomes.get(0).status());
+            Assertions.assertEquals(QueryStatus.TIMED_OUT, outcomes.get(1).status());
+            Assertions.assertEquals(QueryStatus.SUCCEEDED, outcomes.get(2).status());
+            Assertions.assertTrue(outcomes.get(1).result().isEmpty());
+            Assertions.assertEquals(1, outcomes.get(2).result().orElseThrow().size());
+            Assertions.assertTrue(elapsedMillis < 5000, "Deadline took <" + elapsedMillis + "> ms");
+            Assertions.assertEquals(1, cancels.get(1));
+            Assertions.assertEquals(0, cancels.get(0) + cancels.get(2));
+        }
+    }
+
+    @Test
+    void testFailureCancelsOtherQueries() {
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(2);
+
+        try (
+                final HikariDataSource hikariDataSource = new HikariDataSource(hikariConfig);
+                final ExecutorService executorService = Executors.newFixedThreadPool(2)
+        ) {
+            final AtomicIntegerArray cancels = new AtomicIntegerArray(2);
+            final List<CallableQuery> queryList = counted(
+                    new QueriesFromStrings(hikariDataSource, List.of(SCAN, "SELECT * FROM missing_table")).queries(),
+                    cancels
+            );
+
+            final long start = System.nanoTime();
+            Assertions
+                    .assertThrows(
+                            ThreadRuntimeException.class,
+                            new ParallelQueryList(queryList, executorService)::resultList
+                    );
+            final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            Assertions.assertTrue(elapsedMillis < 5000, "Failing fast took <" + elapsedMillis + "> ms");
+            Assertions.assertFalse(Thread.currentThread().isInterrupted());
+            Assertions.assertEquals(1, cancels.get(0));
+        }
+    }
+
+    /**
+     * Counts the cancels of every query. The scan ignores the worker interrupt, so finishing in time also shows the
+     * cancel reached its statement.
+     */
+    private List<CallableQuery> counted(final List<CallableQuery> queryList, final AtomicIntegerArray cancels) {
+        final List<CallableQuery> counted = new ArrayList<>(queryList.size());
+        for (int i = 0; i < queryList.size(); i++) {
+            final int index = i;
+            final CallableQuery query = queryList.get(i);
+            counted.add(new CallableQuery() {
+
+                @Override
+                public Result<Record> call() throws Exception {
+                    return query.call();
+                }
+
+                @Override
+                public void cancel() {
+                    cancels.incrementAndGet(index);
+                    query.cancel();
+                }
+            });
+        }
+        return counted;
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jooq.Configuration;
+import org.jooq.ExecuteListener;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DefaultConfiguration;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+final class ParameterizedQueryTest {
+
+    private final String url = "jdbc:h2:mem:testdb6;DB_CLOSE_DELAY=-1;MODE=MySQL";
+    private HikariDataSource hikariDataSource;
+
+    @BeforeAll
+    void setUp() {
+        final Connection setupConn = Assertions.assertDoesNotThrow(() -> DriverManager.getConnection(url));
+        Assertions.assertDoesNotThrow(() -> {
+            PreparedStatement stmt = setupConn
+                    .prepareStatement("CREATE TABLE parameterized_query_test (id INT PRIMARY KEY, name VARCHAR(255));");
+            stmt.execute();
+        });
+        Assertions.assertDoesNotThrow(() -> {
+            try (final Statement stmt = setupConn.createStatement()) {
+                stmt
+                        .execute(
+                                "INSERT INTO parameterized_query_test (id, name) "
+                                        + "SELECT X, CONCAT('Name', X) FROM SYSTEM_RANGE(1, 10000);"
+                        );
+            }
+        });
+        Assertions.assertDoesNotThrow(setupConn::close);
+
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(4);
+        hikariDataSource = new HikariDataSource(hikariConfig);
+    }
+
+    @AfterAll
+    void tearDown() {
+        Assertions.assertDoesNotThrow(() -> hikariDataSource.close());
+    }
+
+    @Test
+    void testPointLookupsShareOneStatement() {
+        final Set<String> prepared = ConcurrentHashMap.newKeySet();
+        final Configuration configuration = new DefaultConfiguration()
+                .derive(hikariDataSource)
+                .derive(SQLDialect.H2)
+                .derive(ExecuteListener.onExecuteStart(ctx -> prepared.add(ctx.sql())));
+
+        final List<String> sqlList = new ArrayList<>(200);
+        final List<Object[]> parameters = new ArrayList<>(200);
+        for (int i = 1; i <= 200; i++) {
+            sqlList.add("SELECT * FROM parameterized_query_test WHERE id = " + i * 37);
+            parameters.add(new Object[] {
+                    i * 37
+            });
+        }
+
+        try (final ExecutorService executorService = Executors.newFixedThreadPool(4)) {
+            final List<Result<Record>> stringResults = new ParallelQueryList(
+                    new QueriesFromStrings(configuration, sqlList).queries(),
+                    executorService
+            ).resultList();
+            // every concatenated query is a new statement for the driver to parse
+            Assertions.assertEquals(200, prepared.size());
+
+            prepared.clear();
+            final String sql = "SELECT * FROM parameterized_query_test WHERE id = ?";
+            final List<Result<Record>> parameterizedResults = new ParallelQueryList(
+                    new ParameterizedQueries(configuration, sql, parameters).queries(),
+                    executorService
+            ).resultList();
+            Assertions.assertEquals(Set.of(sql), prepared);
+
+            Assertions.assertEquals(200, parameterizedResults.size());
+            for (int i = 0; i < parameterizedResults.size(); i++) {
+                Assertions.assertEquals(stringResults.get(i), parameterizedResults.get(i));
+                Assertions.assertEquals("Name" + (i + 1) * 37, parameterizedResults.get(i).get(0).get("NAME"));
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import org.jooq.SQLDialect;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+final class PartitionedQueryTest {
+
+    @Test
+    void testRangesCoverAllRows() {
+        final List<String> sqlList = new PartitionedQuery("SELECT * FROM t", "id", 0, 10, 3).sqlList();
+        Assertions
+                .assertEquals(
+                        List
+                                .of(
+                                        "SELECT * FROM (SELECT * FROM t) partitioned WHERE id < 4 OR id IS NULL",
+                                        "SELECT * FROM (SELECT * FROM t) partitioned WHERE id >= 4 AND id < 7",
+                                        "SELECT * FROM (SELECT * FROM t) partitioned WHERE id >= 7"
+                                ),
+                        sqlList
+                );
+    }
+
+    @Test
+    void testPartitionsLimitedByRange() {
+        Assertions.assertEquals(2, new PartitionedQuery("SELECT * FROM t", "id", 1, 3, 8).sqlList().size());
+        Assertions
+                .assertEquals(
+                        List.of("SELECT * FROM t"),
+                        new PartitionedQuery("SELECT * FROM t", "id", 5, 5, 8).sqlList()
+                );
+        Assertions
+                .assertThrows(
+                        IllegalArgumentException.class,
+                        () -> new PartitionedQuery("SELECT * FROM t", "id", 5, 1, 2).sqlList()
+                );
+    }
+
+    @Test
+    void testDateBounds() {
+        final List<String> sqlList = new PartitionedQuery(
+                "SELECT * FROM t",
+                "day",
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 1, 31),
+                2
+        ).sqlList();
+        Assertions.assertEquals(2, sqlList.size());
+        Assertions.assertTrue(sqlList.get(1).endsWith("WHERE day >= DATE '2024-01-16'"));
+    }
+
+    @Test
+    void testPartitionColumnMustBeSelected() {
+        Assertions
+                .assertEquals(
+                        3,
+                        new PartitionedQuery("SELECT t.* FROM t JOIN u ON t.id = u.t_id", "id", 0, 10, 3)
+                                .sqlList()
+                                .size()
+                );
+        Assertions.assertEquals(3, new PartitionedQuery("SELECT id, name FROM t", "ID", 0, 10, 3).sqlList().size());
+        Assertions
+                .assertEquals(
+                        3,
+                        new PartitionedQuery("SELECT t.id AS row_id FROM t", "row_id", 0, 10, 3).sqlList().size()
+                );
+        Assertions
+                .assertThrows(
+                        IllegalArgumentException.class,
+                        () -> new PartitionedQuery("SELECT name FROM t", "id", 0, 10, 3).sqlList()
+                );
+        Assertions
+                .assertThrows(
+                        IllegalArgumentException.class,
+                        () -> new PartitionedQuery("SELECT id AS row_id FROM t", "id", 0, 10, 3).sqlList()
+                );
+        Assertions
+                .assertThrows(
+                        IllegalArgumentException.class,
+                        () -> new PartitionedQuery("SELECT name, COUNT(*) FROM t GROUP BY name", "id", 0, 10, 3)
+                                .sqlList()
+                );
+        // a query the parser cannot read is partitioned on the stated column
+        Assertions.assertEquals(3, new PartitionedQuery("SELEC id", "id", 0, 10, 3).sqlList(SQLDialect.H2).size());
+    }
+
+    @Test
+    void testOrderedOrLimitedQueryRejected() {
+        final List<String> sqlList = List
+                .of(
+                        "SELECT * FROM t ORDER BY id",
+                        "SELECT * FROM t LIMIT 10",
+                        "SELECT * FROM t OFFSET 10 ROWS",
+                        "SELECT * FROM t FETCH FIRST 10 ROWS ONLY",
+                        "SELECT TOP 10 * FROM t",
+                        "SELECT id FROM t UNION SELECT id FROM u LIMIT 10"
+                );
+        for (final String sql : sqlList) {
+            Assertions
+                    .assertThrows(
+                            IllegalArgumentException.class,
+                            () -> new PartitionedQuery(sql, "id", 0, 10, 3).sqlList(SQLDialect.H2),
+                            sql
+                    );
+        }
+        Assertions
+                .assertEquals(
+                        3,
+                        new PartitionedQuery("SELECT * FROM (SELECT * FROM t ORDER BY id LIMIT 5) s", "id", 0, 10, 3)
+                                .sqlList(SQLDialect.H2)
+                                .size()
+                );
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.queries;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jooq.Configuration;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DefaultConfiguration;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@TestInstance(Lifecycle.PER_CLASS)
+final class RecordPublisherTest {
+
+    private HikariDataSource hikariDataSource;
+    private Configuration configuration;
+    private ExecutorService executor;
+    private final String url = "jdbc:h2:mem:testdb9;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @BeforeAll
+    void setUp() {
+        final Connection setupConn = Assertions.assertDoesNotThrow(() -> DriverManager.getConnection(url));
+        Assertions.assertDoesNotThrow(() -> {
+            try (final Statement stmt = setupConn.createStatement()) {
+                stmt.execute("CREATE TABLE publisher_test (id INT PRIMARY KEY, name VARCHAR(255));");
+                for (int i = 1; i <= 3000; i++) {
+                    stmt.execute("INSERT INTO publisher_test (id, name) VALUES (" + i + ", 'Name" + i + "');");
+                }
+            }
+        });
+
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setMaximumPoolSize(2);
+        hikariDataSource = new HikariDataSource(hikariConfig);
+        configuration = new DefaultConfiguration().derive(hikariDataSource).derive(SQLDialect.H2);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterAll
+    void tearDown() {
+        executor.close();
+        Assertions.assertDoesNotThrow(() -> hikariDataSource.close());
+    }
+
+    private RecordPublisher publisher() {
+        final Semaphore permits = new Semaphore(2);
+        final List<StreamingQuery> queryList = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queryList
+                    .add(
+                            new PermittedStreamingQuery(
+                                    permits,
+                                    new StreamingQueryImpl(
+                                            configuration,
+                                            "SELECT * FROM publisher_test WHERE id > " + (i * 1000) + " AND id <= "
+                                                    + ((i + 1) * 1000) + " ORDER BY id",
+                                            100
+                                    )
+                            )
+                    );
+        }
+        return new RecordPublisher(queryList, executor);
+    }
+
+    @Test
+    void testEmitsOnlyRequestedRows() throws InterruptedException {
+        final CollectingSubscriber subscriber = new CollectingSubscriber();
+        publisher().subscribe(subscriber);
+
+        subscriber.subscription.request(10);
+        subscriber.await(10);
+        TimeUnit.MILLISECONDS.sleep(200);
+        Assertions.assertEquals(10, subscriber.records.size());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        Assertions.assertDoesNotThrow(() -> subscriber.completed.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(3000, subscriber.records.size());
+        for (int i = 0; i < 3000; i++) {
+            Assertions.assertEquals(i + 1, subscriber.records.get(i).get("ID", Integer.class));
+        }
+        Assertions.assertEquals(0, hikariDataSource.getHikariPoolMXBean().getActiveConnections());
+    }
+
+    @Test
+    void testCancelReleasesConnections() throws InterruptedException {
+        final CollectingSubscriber subscriber = new CollectingSubscriber();
+        publisher().subscribe(subscriber);
+        subscriber.subscription.request(5);
+        subscriber.await(5);
+        Assertions.assertTrue(hikariDataSource.getHikariPoolMXBean().getActiveConnections() > 0);
+
+        subscriber.subscription.cancel();
+        for (int i = 0; i < 100 && hikariDataSource.getHikariPoolMXBean().getActiveConnections() > 0; i++) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        Assertions.assertEquals(0, hikariDataSource.getHikariPoolMXBean().getActiveConnections());
+        Assertions.assertEquals(5, subscriber.records.size());
+        Assertions.assertFalse(subscriber.completed.isDone());
+    }
+
+    @Test
+    void testInvalidRequestSignalsError() {
+        final CollectingSubscriber subscriber = new CollectingSubscriber();
+        publisher().subscribe(subscriber);
+        subscriber.subscription.request(0);
+        Assertions.assertThrows(Exception.class, () -> subscriber.completed.get(10, TimeUnit.SECONDS));
+    }
+
+    private static final class CollectingSubscriber implements Flow.Subscriber<Record> {
+
+        private final List<Record> records = new ArrayList<>();
+        private final CompletableFuture<Void> completed = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        private void await(final int count) throws InterruptedException {
+            for (int i = 0; i < 500 && size() < count; i++) {
+                TimeUnit.MILLISECONDS.sleep(20);
+            }
+        }
+
+        private int size() {
+            synchronized (records) {
+                return records.size();
+            }
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final Record record) {
+            synchronized (records) {
+                records.add(record);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            completed.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed.complete(null);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.replica;
+
+import com.github.macwille.DatasourceConfiguration;
+import com.github.macwille.QueryEngine;
+import com.github.macwille.ThreadRuntimeException;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+final class ReplicatedQueryEngineTest {
+
+    private final String primaryUrl = "jdbc:h2:mem:testdb10;DB_CLOSE_DELAY=-1;MODE=MySQL";
+    private final String firstUrl = "jdbc:h2:mem:testdb11;DB_CLOSE_DELAY=-1;MODE=MySQL";
+    private final String secondUrl = "jdbc:h2:mem:testdb12;DB_CLOSE_DELAY=-1;MODE=MySQL";
+    private final String brokenUrl = "jdbc:h2:mem:testdb13;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @BeforeAll
+    void setUp() {
+        create(primaryUrl, "primary");
+        create(firstUrl, "first");
+        create(secondUrl, "second");
+    }
+
+    private void create(final String url, final String source) {
+        final Connection setupConn = Assertions.assertDoesNotThrow(() -> DriverManager.getConnection(url));
+        Assertions.assertDoesNotThrow(() -> {
+            try (final Statement stmt = setupConn.createStatement()) {
+                stmt.execute("CREATE TABLE replica_test (id INT PRIMARY KEY, source VARCHAR(255));");
+                stmt.execute("INSERT INTO replica_test VALUES (1, '" + source + "');");
+                stmt
+                        .execute(
+                                "CREATE ALIAS SLEEP_MS AS "
+                                        + "'int sleep(int ms) throws Exception { Thread.sleep(ms); return ms; }'"
+                        );
+            }
+        });
+        Assertions.assertDoesNotThrow(setupConn::close);
+    }
+
+    private QueryEngine engine(final String url) {
+        final Map<String, String> optionsMap = new HashMap<>();
+        optionsMap.put("url", url);
+        optionsMap.put("poolSize", "2");
+        return new QueryEngine(new DatasourceConfiguration(optionsMap), SQLDialect.H2, 2);
+    }
+
+    private List<String> reads(final int count) {
+        final List<String> queries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            queries.add("SELECT source FROM replica_test WHERE id = 1");
+        }
+        return queries;
+    }
+
+    private List<String> sources(final List<Result<Record>> results) {
+        final List<String> sources = new ArrayList<>();
+        for (final Result<Record> result : results) {
+            sources.add(result.get(0).get("SOURCE", String.class));
+        }
+        return sources;
+    }
+
+    @Test
+    void testReadsSpreadOverReplicas() {
+        try (
+                final ReplicatedQueryEngine engine = new ReplicatedQueryEngine(
+                        engine(primaryUrl),
+                        List.of(new Replica("first", engine(firstUrl)), new Replica("second", engine(secondUrl))),
+                        Balancing.LEAST_OUTSTANDING
+                )
+        ) {
+            final List<String> sources = sources(engine.execute(reads(40)));
+            Assertions.assertEquals(40, sources.size());
+            Assertions.assertTrue(sources.contains("first"));
+            Assertions.assertTrue(sources.contains("second"));
+            Assertions.assertFalse(sources.contains("primary"));
+            for (final Replica replica : engine.replicas()) {
+                Assertions.assertEquals(0, replica.outstanding());
+                Assertions.assertTrue(replica.inRotation());
+            }
+        }
+    }
+
+    @Test
+    void testWritesAndPinnedReadsOnPrimary() {
+        try (
+                final ReplicatedQueryEngine engine = new ReplicatedQueryEngine(
+                        engine(primaryUrl),
+                        List.of(new Replica("first", engine(firstUrl))),
+                        Balancing.LATENCY_WEIGHTED
+                )
+        ) {
+            final int[] counts = engine.update(List.of("INSERT INTO replica_test VALUES (2, 'written')"), 10, true);
+            Assertions.assertEquals(1, counts[0]);
+            final List<Result<Record>> pinned = engine
+                    .executePinned(List.of("SELECT source FROM replica_test WHERE id = 2"));
+            Assertions.assertEquals("written", pinned.get(0).get(0).get("SOURCE", String.class));
+            Assertions.assertEquals(List.of("first"), sources(engine.execute(reads(1))));
+        }
+    }
+
+    @Test
+    void testFailingReplicaLeavesRotation() {
+        create(brokenUrl, "broken");
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(brokenUrl);
+        hikariConfig.setUsername("");
+        hikariConfig.setPassword("");
+        hikariConfig.setMaximumPoolSize(2);
+        hikariConfig.setConnectionTimeout(250);
+        final HikariDataSource dataSource = new HikariDataSource(hikariConfig);
+        try (
+                final ReplicatedQueryEngine engine = new ReplicatedQueryEngine(
+                        engine(primaryUrl),
+                        List
+                                .of(
+                                        new Replica(
+                                                "broken",
+                                                new QueryEngine(
+                                                        dataSource,
+                                                        SQLDialect.H2,
+                                                        Executors.newFixedThreadPool(2)
+                                                )
+                                        )
+                                ),
+                        Balancing.LATENCY_WEIGHTED
+                )
+        ) {
+            final Replica broken = engine.replicas().get(0);
+            Assertions.assertEquals(List.of("broken"), sources(engine.execute(reads(1))));
+
+            // new connections are refused, so every read times out waiting for one
+            dataSource.getHikariConfigMXBean().setPassword("wrong");
+            dataSource.getHikariPoolMXBean().softEvictConnections();
+            final List<String> sources = sources(engine.execute(reads(10)));
+            Assertions.assertEquals(10, sources.size());
+            Assertions.assertTrue(sources.stream().allMatch("primary"::equals));
+            Assertions.assertFalse(broken.inRotation());
+            Assertions.assertEquals(0, broken.outstanding());
+            Assertions.assertEquals(List.of(), engine.checkHealth());
+
+            dataSource.getHikariConfigMXBean().setPassword("");
+            // the pool retries opening connections with a backoff
+            final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (engine.checkHealth().isEmpty() && System.nanoTime() < deadline) {
+                Assertions.assertDoesNotThrow(() -> Thread.sleep(100));
+            }
+            Assertions.assertTrue(broken.inRotation());
+            Assertions.assertEquals(List.of("broken"), sources(engine.execute(reads(1))));
+        }
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testSlowReplicaCheckedAfterBackOff() {
+        try (
+                final ReplicatedQueryEngine engine = new ReplicatedQueryEngine(
+                        engine(primaryUrl),
+                        List
+                                .of(
+                                        new Replica(
+                                                "first",
+                                                engine(firstUrl),
+                                                3,
+                                                Duration.ofMillis(200),
+                                                Duration.ofMillis(500)
+                                        )
+                                ),
+                        Balancing.LEAST_OUTSTANDING
+                )
+        ) {
+            final Replica first = engine.replicas().get(0);
+            engine.execute(List.of("SELECT SLEEP_MS(400) FROM replica_test"));
+            Assertions.assertFalse(first.inRotation());
+            Assertions.assertEquals(List.of("primary"), sources(engine.execute(reads(1))));
+
+            // reads after the back-off check the replica without waiting for it
+            final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (!first.inRotation() && System.nanoTime() < deadline) {
+                engine.execute(reads(1));
+                Assertions.assertDoesNotThrow(() -> Thread.sleep(50));
+            }
+            Assertions.assertTrue(first.inRotation());
+            Assertions.assertEquals(List.of("first"), sources(engine.execute(reads(1))));
+        }
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testQueryErrorsReachCaller() {
+        try (
+                final ReplicatedQueryEngine engine = new ReplicatedQueryEngine(
+                        engine(primaryUrl),
+                        List.of(new Replica("first", engine(firstUrl), 1, Duration.ofSeconds(1))),
+                        Balancing.LEAST_OUTSTANDING
+                )
+        ) {
+            final Replica first = engine.replicas().get(0);
+            for (int i = 0; i < 3; i++) {
+                Assertions
+                        .assertThrows(
+                                ThreadRuntimeException.class,
+                                () -> engine.execute(List.of("SELECT * FROM missing_table"))
+                        );
+            }
+            Assertions.assertTrue(first.inRotation());
+            Assertions.assertEquals(0, first.outstanding());
+            Assertions.assertEquals(List.of("first"), sources(engine.execute(reads(1))));
+        }
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.scheduling;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class FairSchedulerTest {
+
+    private void block(final TenantExecutor executor, final CountDownLatch started, final CountDownLatch release) {
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private void await(final FairScheduler scheduler) throws InterruptedException {
+        for (int i = 0; i < 500 && (scheduler.running() > 0 || scheduler.waiting() > 0); i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Test
+    void testInteractiveOvertakesBulk() throws InterruptedException {
+        try (ExecutorService pool = Executors.newSingleThreadExecutor()) {
+            final FairScheduler scheduler = new FairScheduler(pool, 1);
+            final List<String> order = Collections.synchronizedList(new ArrayList<>());
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            block(scheduler.executor("export", Priority.BULK), started, release);
+            started.await();
+
+            for (int i = 0; i < 5; i++) {
+                scheduler.executor("export", Priority.BULK).execute(() -> order.add("export"));
+            }
+            scheduler.executor("dashboard", Priority.INTERACTIVE).execute(() -> order.add("dashboard"));
+            Assertions.assertEquals(6, scheduler.waiting());
+
+            release.countDown();
+            await(scheduler);
+            Assertions.assertEquals("dashboard", order.get(0));
+            Assertions.assertEquals(6, order.size());
+        }
+    }
+
+    @Test
+    void testWeightsShareSlots() throws InterruptedException {
+        try (ExecutorService pool = Executors.newSingleThreadExecutor()) {
+            final FairScheduler scheduler = new FairScheduler(
+                    pool,
+                    1,
+                    List.of(new Tenant("heavy", 3), new Tenant("light", 1))
+            );
+            final List<String> order = Collections.synchronizedList(new ArrayList<>());
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            block(scheduler.executor("other", Priority.NORMAL), started, release);
+            started.await();
+
+            for (int i = 0; i < 8; i++) {
+                scheduler.executor("heavy", Priority.NORMAL).execute(() -> order.add("heavy"));
+                scheduler.executor("light", Priority.NORMAL).execute(() -> order.add("light"));
+            }
+            release.countDown();
+            await(scheduler);
+
+            Assertions.assertEquals(6, Collections.frequency(order.subList(0, 8), "heavy"));
+            Assertions.assertEquals(16, order.size());
+        }
+    }
+
+    @Test
+    void testTenantCap() throws InterruptedException {
+        try (ExecutorService pool = Executors.newFixedThreadPool(4)) {
+            final FairScheduler scheduler = new FairScheduler(pool, 4, List.of(new Tenant("capped", 1, 1)));
+            final AtomicInteger concurrent = new AtomicInteger();
+            final AtomicInteger highest = new AtomicInteger();
+            for (int i = 0; i < 20; i++) {
+                scheduler.executor("capped", Priority.NORMAL).execute(() -> {
+                    highest.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(2);
+                    }
+                    catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    concurrent.decrementAndGet();
+                });
+            }
+            await(scheduler);
+            Assertions.assertEquals(1, highest.get());
+        }
+    }
+
+    @Test
+    void testRejectedTaskFailsItsFuture() throws InterruptedException {
+        final AtomicInteger calls = new AtomicInteger();
+        final Executor rejectingLater = command -> {
+            if (calls.getAndIncrement() > 0) {
+                throw new RejectedExecutionException("full");
+            }
+            new Thread(command).start();
+        };
+        final FairScheduler scheduler = new FairScheduler(rejectingLater, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        block(scheduler.executor("tenant", Priority.NORMAL), started, release);
+        started.await();
+
+        final Future<Integer> dropped = scheduler.executor("tenant", Priority.NORMAL).submit(() -> 1);
+        release.countDown();
+        final ExecutionException error = Assertions
+                .assertThrows(ExecutionException.class, () -> dropped.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        await(scheduler);
+        Assertions.assertEquals(0, scheduler.running());
+    }
+
+    @Test
+    void testViewTerminatesAfterItsTasks() throws InterruptedException {
+        try (ExecutorService pool = Executors.newSingleThreadExecutor()) {
+            final TenantExecutor executor = new FairScheduler(pool, 1).executor("tenant", Priority.NORMAL);
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            block(executor, started, release);
+            executor.execute(() -> {
+            });
+            started.await();
+
+            executor.shutdown();
+            Assertions.assertTrue(executor.isShutdown());
+            Assertions.assertFalse(executor.isTerminated());
+            Assertions.assertFalse(executor.awaitTermination(50, TimeUnit.MILLISECONDS));
+            release.countDown();
+            Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(executor.isTerminated());
+        }
+    }
+}
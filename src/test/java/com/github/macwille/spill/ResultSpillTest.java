@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Ville Manninen
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.macwille.spill;
+
+import com.github.macwille.cache.ResultSize;
+import com.github.macwille.queries.StreamingQuery;
+import org.jooq.DSLContext;
+import org.jooq.JSON;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jooq.types.UInteger;
+import org.jooq.types.ULong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+final class ResultSpillTest {
+
+    private final DSLContext ctx = DSL.using(SQLDialect.H2);
+    private final Field<Integer> id = DSL.field("ID", SQLDataType.INTEGER);
+    private final Field<String> name = DSL.field("NAME", SQLDataType.VARCHAR);
+    private final Field<BigDecimal> price = DSL.field("PRICE", SQLDataType.DECIMAL);
+    private final Field<LocalDate> day = DSL.field("DAY", SQLDataType.LOCALDATE);
+    private final Field<?>[] fields = {
+            id, name, price, day
+    };
+
+    private Result<Record> result(final int rows) {
+        final Result<Record> result = ctx.newResult(fields);
+        for (int i = 1; i <= rows; i++) {
+            final Record record = ctx.newRecord(fields);
+            record.set(id, i);
+            record.set(name, i % 7 == 0 ? null : "Name" + i);
+            record.set(price, new BigDecimal(i + ".25"));
+            record.set(day, LocalDate.of(2024, 1, 1).plusDays(i));
+            result.add(record);
+        }
+        return result;
+    }
+
+    private long files(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void testSpillsOverBudgetWithSameIteration(@TempDir final Path directory) throws IOException {
+        final Result<Record> result = result(1000);
+        final long resultBytes = new ResultSize(result).bytes();
+        try (ResultSpill spill = new ResultSpill(resultBytes, directory, 4096)) {
+            final BufferedResult kept = spill.buffered(result);
+            final BufferedResult spilled = spill.buffered(result(1000));
+            Assertions.assertFalse(kept.spilled());
+            Assertions.assertTrue(spilled.spilled());
+            Assertions.assertEquals(1000, spilled.size());
+            Assertions.assertTrue(files(directory) > 1);
+
+            for (int pass = 0; pass < 2; pass++) {
+                final Iterator<Record> expected = kept.iterator();
+                int rows = 0;
+                for (final Record record : spilled) {
+                    Assertions.assertArrayEquals(expected.next().intoArray(), record.intoArray());
+                    rows++;
+                }
+                Assertions.assertEquals(1000, rows);
+            }
+        }
+        Assertions.assertEquals(0, files(directory));
+    }
+
+    @Test
+    void testEmptyResultSpillsWithoutFiles(@TempDir final Path directory) throws IOException {
+        try (ResultSpill spill = new ResultSpill(0, directory)) {
+            final BufferedResult spilled = spill.buffered(result(0));
+            Assertions.assertTrue(spilled.spilled());
+            Assertions.assertFalse(spilled.iterator().hasNext());
+            Assertions.assertEquals(0, files(directory));
+        }
+    }
+
+    @Test
+    void testStreamedRowsSpillOnceOverBudget(@TempDir final Path directory) throws IOException {
+        final Result<Record> result = result(1000);
+        try (ResultSpill spill = new ResultSpill(new ResultSize(result).bytes() / 10, directory, 4096)) {
+            final BufferedResult small = spill.buffered(streamed(result(10)));
+            Assertions.assertFalse(small.spilled());
+            Assertions.assertEquals(10, small.size());
+
+            final long heapBytes = spill.heapBytes();
+            final BufferedResult spilled = spill.buffered(streamed(result));
+            Assertions.assertTrue(spilled.spilled());
+            Assertions.assertEquals(1000, spilled.size());
+            // the rows held before the budget ran out were handed back when they moved to disk
+            Assertions.assertEquals(heapBytes, spill.heapBytes());
+            final Iterator<Record> expected = result.iterator();
+            for (final Record record : spilled) {
+                Assertions.assertArrayEquals(expected.next().intoArray(), record.intoArray());
+            }
+            Assertions.assertFalse(expected.hasNext());
+        }
+        Assertions.assertEquals(0, files(directory));
+    }
+
+    @Test
+    void testUnknownValueTypesAreRetainedOnHeap(@TempDir final Path directory) throws IOException {
+        final Field<Object> value = DSL.field("VALUE", SQLDataType.OTHER);
+        final Field<?>[] valueFields = {
+                value
+        };
+        final List<Object> values = List
+                .of(
+                        new BigInteger("123456789012345678901234567890"),
+                        UUID.randomUUID(),
+                        OffsetDateTime.parse("2024-01-01T10:15:30+02:00"),
+                        JSON.valueOf("{\"a\": 1}"),
+                        UInteger.valueOf(4000000000L),
+                        ULong.valueOf("18446744073709551615"),
+                        new ArrayList<>(List.of("not", "a", "column", "value"))
+                );
+        final Result<Record> mixed = ctx.newResult(valueFields);
+        for (final Object object : values) {
+            final Record record = ctx.newRecord(value);
+            record.set(value, object);
+            mixed.add(record);
+        }
+        try (ResultSpill spill = new ResultSpill(0, directory)) {
+            for (final BufferedResult spilled : List.of(spill.buffered(mixed), spill.buffered(streamed(mixed)))) {
+                Assertions.assertTrue(spilled.spilled());
+                final Iterator<Object> expected = values.iterator();
+                for (final Record record : spilled) {
+                    Assertions.assertEquals(expected.next(), record.get(value));
+                }
+                Assertions.assertFalse(expected.hasNext());
+            }
+            final Record array = ctx.newRecord(value);
+            array.set(value, new Integer[] {
+                    1, 2, 3
+            });
+            final Result<Record> arrays = ctx.newResult(valueFields);
+            arrays.add(array);
+            Assertions.assertArrayEquals(new Integer[] {
+                    1, 2, 3
+            }, (Integer[]) spill.buffered(arrays).iterator().next().get(value));
+            Assertions.assertEquals(3, files(directory));
+        }
+        Assertions.assertEquals(0, files(directory));
+    }
+
+    @Test
+    void testResultSpilledDuringCloseIsDeleted(@TempDir final Path directory) throws IOException {
+        final ResultSpill spill = new ResultSpill(0, directory, 4096);
+        final Result<Record> result = result(1000);
+        final StreamingQuery closedHalfway = new StreamingQuery() {
+
+            @Override
+            public void forEach(final Consumer<Record> consumer) {
+                for (int i = 0; i < result.size(); i++) {
+                    if (i == result.size() / 2) {
+                        spill.close();
+                    }
+                    consumer.accept(result.get(i));
+                }
+            }
+
+            @Override
+            public Stream<Record> stream() {
+                return result.stream();
+            }
+        };
+        Assertions.assertThrows(IllegalStateException.class, () -> spill.buffered(closedHalfway));
+        Assertions.assertEquals(0, files(directory));
+        Assertions.assertEquals(0, spill.spilledResults());
+        Assertions.assertThrows(IllegalStateException.class, () -> spill.buffered(result));
+        Assertions.assertEquals(0, files(directory));
+    }
+
+    private StreamingQuery streamed(final Result<Record> result) {
+        return new StreamingQuery() {
+
+            @Override
+            public void forEach(final Consumer<Record> consumer) {
+                result.forEach(consumer);
+            }
+
+            @Override
+            public Stream<Record> stream() {
+                return result.stream();
+            }
+        };
+    }
+}